@@ -1,20 +1,38 @@
 # ai_service/api.py
 
-from flask import Flask, request, jsonify
+from flask import Flask, Response, request, jsonify
 from flask_cors import CORS
 import fitz  # PyMuPDF
 import docx
 import io
 import os
+import struct
+import time
 
 # --- Import components from rag_core ---
-from rag_core import ingest_jobs_to_vector_db, vector_store, llm, agent_executor
+from rag_core import ingest_jobs_to_vector_db, delete_job_vectors, vector_store, llm, agent_executor, export_job_embeddings, embed_query
 from langchain.schema import HumanMessage, SystemMessage
 
 app = Flask(__name__)
 # Enable CORS for frontend debugging
 CORS(app)
 
+
+# Log each request with the backend's trace id (W3C "traceparent" header),
+# so a slow ai_service call can be matched to the backend search span
+@app.before_request
+def start_timer():
+    request.start_time = time.perf_counter()
+
+
+@app.after_request
+def log_trace(response):
+    traceparent = request.headers.get('traceparent')
+    trace_id = traceparent.split('-')[1] if traceparent and traceparent.count('-') == 3 else '-'
+    elapsed_ms = (time.perf_counter() - getattr(request, 'start_time', time.perf_counter())) * 1000
+    print(f"trace_id={trace_id} {request.method} {request.path} {response.status_code} {elapsed_ms:.1f}ms")
+    return response
+
 # ==========================================
 # 1. Modified utility function: receive bytes data directly instead of stream
 # ==========================================
@@ -98,6 +116,22 @@ def rag_ingest_jobs():
         return jsonify({"error": str(e)}), 500
 
 
+# --- Interface A2: Vector removal (called by the change feed sync for deleted jobs) ---
+@app.route('/rag/delete_jobs', methods=['POST'])
+def rag_delete_jobs():
+    job_ids = (request.json or {}).get('job_ids')
+
+    if not job_ids:
+        return jsonify({"error": "No job_ids provided"}), 400
+
+    try:
+        deleted = delete_job_vectors(job_ids)
+        return jsonify({"status": "success", "deleted": deleted})
+    except Exception as e:
+        print(f"Error: {e}")
+        return jsonify({"error": str(e)}), 500
+
+
 # --- Interface B: Fast text search (frontend: called when user enters keywords) ---
 @app.route('/rag/search_only', methods=['POST'])
 def search_only_endpoint():
@@ -114,6 +148,37 @@ def search_only_endpoint():
 
 
 
+# --- Interface E: Query embedding (backend answers top-k from its own ANN index) ---
+@app.route('/rag/embed', methods=['POST'])
+def embed_endpoint():
+    data = request.json or {}
+    query_text = data.get('query', '')
+    if not query_text:
+        return jsonify({"error": "Query text is required"}), 400
+    return jsonify({"embedding": embed_query(query_text)})
+
+
+# --- Interface F: Export all job vectors for the backend's ANN index ---
+# Binary, big-endian: "JEMB", int version (2), int dimension, long count (-1 = unknown),
+# then per job: long job_id, float32 x dimension,
+# then the trailer: long -1, long number of vectors sent. A response cut off before the
+# trailer (e.g. the database failed mid-export) is rejected by the backend.
+@app.route('/rag/export_embeddings', methods=['GET'])
+def export_embeddings_endpoint():
+    def generate():
+        sent = 0
+        for job_id, vector in export_job_embeddings():
+            if sent == 0:
+                yield b'JEMB' + struct.pack('>iiq', 2, len(vector), -1)
+            yield struct.pack(f'>q{len(vector)}f', job_id, *vector)
+            sent += 1
+        if sent == 0:
+            yield b'JEMB' + struct.pack('>iiq', 2, 0, 0)
+        yield struct.pack('>qq', -1, sent)
+
+    return Response(generate(), mimetype='application/octet-stream')
+
+
 # ==========================================
 # 2. Modified route interface: read bytes first, ensure not empty
 # ==========================================
@@ -22,6 +22,19 @@ BACKEND_INTAKE_URL = os.environ.get("JAVA_BACKEND_INTAKE_URL", DEFAULT_BACKEND_U
 DEFAULT_AI_URL = "http://localhost:5000/rag/ingest_jobs"
 AI_SERVICE_URL = os.environ.get("AI_SERVICE_INGEST_URL", DEFAULT_AI_URL)
 
+DEFAULT_INTERNAL_JOBS_URL = "http://localhost:8080/api/internal/jobs"
+BACKEND_INTERNAL_JOBS_URL = os.environ.get("JAVA_BACKEND_INTERNAL_JOBS_URL", DEFAULT_INTERNAL_JOBS_URL)
+
+# Number of jobs sent to the vector DB per ingest call during a full re-sync
+RESYNC_CHUNK_SIZE = 200
+
+DEFAULT_AI_DELETE_URL = "http://localhost:5000/rag/delete_jobs"
+AI_SERVICE_DELETE_URL = os.environ.get("AI_SERVICE_DELETE_URL", DEFAULT_AI_DELETE_URL)
+
+# Change feed: where the last applied cursor is kept between runs, and page size
+CHANGE_FEED_CURSOR_FILE = os.environ.get("CHANGE_FEED_CURSOR_FILE", ".job_change_cursor")
+CHANGE_FEED_PAGE_SIZE = 500
+
 
 def save_jobs_batch_to_backend(jobs_data):
     """Batch call Spring Boot backend internal API to save job data using internal API key"""
@@ -81,10 +94,82 @@ def sync_jobs_to_vector_db(saved_jobs_from_java):
         response = requests.post(AI_SERVICE_URL, json=vector_payload)
         if response.status_code == 200:
             print(f"Vector DB sync successful!")
+            return True
         else:
             print(f"Vector DB sync failed: {response.text}")
     except Exception as e:
         print(f"Error syncing to Vector DB: {e}")
+    return False
+
+def resync_all_jobs_to_vector_db():
+    """Re-sync the whole catalog into the vector DB.
+    Reads the backend NDJSON export line by line and ingests fixed-size chunks,
+    so neither side ever holds the full catalog in memory."""
+    import json
+
+    headers = {'X-Internal-API-Key': INTERNAL_API_KEY}
+    total = 0
+    chunk = []
+    with requests.get(BACKEND_INTERNAL_JOBS_URL, params={'format': 'ndjson'},
+                      headers=headers, stream=True) as response:
+        if response.status_code != 200:
+            print(f"Fetching jobs from Java Backend failed: {response.status_code}, {response.text}")
+            return
+        for line in response.iter_lines():
+            if not line:
+                continue
+            chunk.append(json.loads(line))
+            if len(chunk) >= RESYNC_CHUNK_SIZE:
+                sync_jobs_to_vector_db(chunk)
+                total += len(chunk)
+                chunk = []
+    if chunk:
+        sync_jobs_to_vector_db(chunk)
+        total += len(chunk)
+    print(f"Vector DB re-sync finished, {total} jobs processed.")
+
+def sync_job_changes():
+    """Apply the backend job change feed to the vector DB since the last saved cursor.
+    Upserts are re-ingested, deletes removed; the cursor is saved only after a page is applied,
+    so a failed run is retried from the same place next time.
+    Change rows are kept for app.changes.retention (default 7 days) only: run this more often than
+    that, or delete the cursor file and do a full sync after a longer pause."""
+    headers = {'X-Internal-API-Key': INTERNAL_API_KEY}
+    since = None
+    if os.path.exists(CHANGE_FEED_CURSOR_FILE):
+        with open(CHANGE_FEED_CURSOR_FILE) as f:
+            since = f.read().strip() or None
+
+    applied = 0
+    while True:
+        params = {'limit': CHANGE_FEED_PAGE_SIZE}
+        if since:
+            params['since'] = since
+        response = requests.get(f"{BACKEND_INTERNAL_JOBS_URL}/changes", params=params, headers=headers)
+        if response.status_code != 200:
+            print(f"Fetching job changes failed: {response.status_code}, {response.text}")
+            return
+        page = response.json()
+        changes = page.get('changes', [])
+
+        upserts = [c for c in changes if c.get('op') == 'upsert']
+        deletes = [c['id'] for c in changes if c.get('op') == 'delete']
+        if upserts and not sync_jobs_to_vector_db(upserts):
+            return
+        if deletes:
+            response = requests.post(AI_SERVICE_DELETE_URL, json={"job_ids": deletes})
+            if response.status_code != 200:
+                print(f"Vector DB delete failed: {response.text}")
+                return
+        applied += len(changes)
+
+        if page.get('nextCursor'):
+            since = page['nextCursor']
+            with open(CHANGE_FEED_CURSOR_FILE, 'w') as f:
+                f.write(since)
+        if not page.get('hasMore'):
+            break
+    print(f"Change feed sync finished, {applied} changes applied.")
 
 import feedparser
 import time
@@ -273,4 +358,10 @@ def scrape_jobs():
 #     print("\nScraper task completed.")
 
 if __name__ == "__main__":
-    scrape_jobs()
\ No newline at end of file
+    import sys
+    if "--resync" in sys.argv:
+        resync_all_jobs_to_vector_db()
+    elif "--sync-changes" in sys.argv:
+        sync_job_changes()
+    else:
+        scrape_jobs()
\ No newline at end of file
@@ -6,6 +6,7 @@ from langchain_core.documents import Document
 from langchain_core.tools import tool
 from langchain.agents import AgentExecutor, create_tool_calling_agent
 from langchain_core.prompts import ChatPromptTemplate
+from sqlalchemy import create_engine, text
 
 # 1. Configure database connection (reuse configuration from docker-compose)
 db_user = os.getenv("DB_USERNAME", "jobtracker")
@@ -26,6 +27,47 @@ vector_store = PGVector(
     use_jsonb=True,
 )
 
+# --- Embedding export for the backend's in-JVM ANN index ---
+_export_engine = create_engine(DB_CONNECTION)
+
+def export_job_embeddings(batch_size=1000):
+    """
+    Yield (job_id, [float, ...]) for every stored job vector, streamed with a server-side cursor
+    so the whole collection is never held in memory.
+    """
+    query = text("""
+        SELECT (e.cmetadata->>'job_id')::bigint AS job_id, e.embedding::text AS embedding
+        FROM langchain_pg_embedding e
+        JOIN langchain_pg_collection c ON c.uuid = e.collection_id
+        WHERE c.name = :collection AND e.cmetadata ? 'job_id'
+        ORDER BY job_id
+    """)
+    with _export_engine.connect() as conn:
+        rows = conn.execution_options(stream_results=True, yield_per=batch_size).execute(
+            query, {"collection": "job_resume_vectors"})
+        for job_id, embedding in rows:
+            # pgvector text form: "[0.1,0.2,...]"
+            yield job_id, [float(x) for x in embedding[1:-1].split(',')]
+
+def embed_query(query_text: str):
+    """Embedding of a search query, same model as the stored job vectors."""
+    return embeddings.embed_query(query_text)
+
+def delete_job_vectors(job_ids: list):
+    """Remove the stored vectors of the given jobs; returns the number of rows deleted."""
+    if not job_ids:
+        return 0
+    query = text("""
+        DELETE FROM langchain_pg_embedding e
+        USING langchain_pg_collection c
+        WHERE c.uuid = e.collection_id AND c.name = :collection
+          AND (e.cmetadata->>'job_id')::bigint = ANY(:job_ids)
+    """)
+    with _export_engine.begin() as conn:
+        result = conn.execute(query, {"collection": "job_resume_vectors",
+                                      "job_ids": [int(job_id) for job_id in job_ids]})
+        return result.rowcount
+
 # --- Modification point 1: Function specifically for storing job descriptions ---
 def ingest_jobs_to_vector_db(jobs_data: list):
     """
@@ -50,6 +92,8 @@ def ingest_jobs_to_vector_db(jobs_data: list):
         documents.append(doc)
 
     if documents:
+        # Upsert: drop the previous vectors of these jobs so re-ingesting an edited job replaces it
+        delete_job_vectors([doc.metadata['job_id'] for doc in documents])
         # Batch write for better efficiency
         vector_store.add_documents(documents)
         print(f"Successfully stored {len(documents)} jobs to pgvector")
@@ -0,0 +1,69 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.config.CompactCacheSerializer;
+import com.jobtracker.config.RedisConfig;
+import com.jobtracker.entity.Job;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis cache value encode/decode: the previous Jackson serializer against CompactCacheSerializer
+ * with and without compression. Stored bytes per codec are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheCodecBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int jobs;
+
+    @Param({"json", "binary", "binary-deflate"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private List<Job> value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        RedisSerializer<Object> json = new Jackson2JsonRedisSerializer<>(RedisConfig.cacheObjectMapper(), Object.class);
+        serializer = switch (codec) {
+            case "binary" -> new CompactCacheSerializer(json, true, -1);
+            case "binary-deflate" -> new CompactCacheSerializer(json, true, 1024);
+            default -> json;
+        };
+        value = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            Job job = new Job();
+            job.setId((long) i + 1);
+            job.setTitle("Senior Java Engineer " + i);
+            job.setCompany("Company " + (i % 50));
+            job.setLocation("Remote");
+            job.setUrl("https://jobs.example.com/" + i);
+            job.setSource("linkedin");
+            job.setDescription("We are looking for an engineer with Spring Boot, Postgres and Redis experience. ".repeat(12));
+            value.add(job);
+        }
+        encoded = serializer.serialize(value);
+        System.out.printf("%n[%s, %d jobs] stored bytes: %d%n", codec, jobs, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
@@ -0,0 +1,84 @@
+package com.jobtracker.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jobtracker.config.RedisConfig;
+import com.jobtracker.entity.Job;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Job list (de)serialization as cached in Redis (RedisConfig mapper with NON_FINAL default typing)
+ * compared with a plain mapper and with pre-bound typed reader/writer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobJsonBenchmark {
+
+    @Param({"1", "100"})
+    public int jobs;
+
+    private final ObjectMapper cacheMapper = RedisConfig.cacheObjectMapper();
+    private final ObjectMapper plainMapper = new ObjectMapper();
+    private ObjectWriter typedWriter;
+    private ObjectReader typedReader;
+
+    private List<Job> value;
+    private byte[] cacheJson;
+    private byte[] plainJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        value = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            Job job = new Job();
+            job.setId((long) i + 1);
+            job.setTitle("Senior Java Engineer " + i);
+            job.setCompany("Company " + (i % 50));
+            job.setLocation("Remote");
+            job.setUrl("https://jobs.example.com/" + i);
+            job.setSource("linkedin");
+            job.setDescription("We are looking for an engineer with Spring Boot, Postgres and Redis experience. ".repeat(12));
+            value.add(job);
+        }
+        TypeReference<List<Job>> listOfJobs = new TypeReference<>() {};
+        typedWriter = plainMapper.writerFor(listOfJobs);
+        typedReader = plainMapper.readerFor(listOfJobs);
+        cacheJson = cacheMapper.writeValueAsBytes(value);
+        plainJson = plainMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] serializeDefaultTyping() throws Exception {
+        return cacheMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object deserializeDefaultTyping() throws Exception {
+        return cacheMapper.readValue(cacheJson, Object.class);
+    }
+
+    @Benchmark
+    public byte[] serializePlain() throws Exception {
+        return plainMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] serializeTypedWriter() throws Exception {
+        return typedWriter.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public List<Job> deserializeTypedReader() throws Exception {
+        return typedReader.readValue(plainJson);
+    }
+}
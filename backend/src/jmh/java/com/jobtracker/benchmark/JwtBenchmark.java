@@ -0,0 +1,57 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.config.JwtConfig;
+import com.jobtracker.config.JwtUtils;
+import com.jobtracker.entity.Users;
+import com.jobtracker.service.impl.UsersDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done by JwtAuthFilter (shared parser) vs. building a parser per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private SecretKey secretKey;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        ReflectionTestUtils.setField(config, "secret",
+                "thisIsASuperSecureKeyWithMoreThan64Characters1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
+        secretKey = config.secretKey();
+        sharedParser = config.jwtParser(secretKey);
+
+        Users user = new Users();
+        user.setId(42L);
+        user.setEmail("bench@example.com");
+        user.setRole("USER");
+        token = new JwtUtils(86_400_000, secretKey)
+                .generateJwtToken(new UsernamePasswordAuthenticationToken(new UsersDetailsImpl(user), null));
+    }
+
+    @Benchmark
+    public Claims parseSharedParser() {
+        return sharedParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims parseNewParserPerRequest() {
+        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+    }
+}
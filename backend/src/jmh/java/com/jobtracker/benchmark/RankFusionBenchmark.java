@@ -0,0 +1,77 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.search.RankFusion;
+import com.jobtracker.util.RRFCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RRF fusion of a lexical and a semantic ranking, each with "candidates" ids, half of them shared.
+ * legacyHashMapSort is the pre-RankFusion implementation (boxed HashMap + full sort), kept as baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankFusionBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int candidates;
+
+    private List<Long> lexical;
+    private List<Long> semantic;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[] pool = random.longs(candidates * 3L / 2, 1, 1_000_000).toArray();
+        lexical = new ArrayList<>();
+        semantic = new ArrayList<>();
+        for (int i = 0; i < candidates; i++) {
+            lexical.add(pool[i]);
+            semantic.add(pool[pool.length - 1 - i]);
+        }
+        Collections.shuffle(semantic, random);
+    }
+
+    // What JobServiceImpl.applyRRF does before loading the jobs
+    @Benchmark
+    public List<Long> applyRrf() {
+        return RankFusion.fuse(List.of(
+                new RankFusion.Ranking("lexical", lexical, 1.0, 60),
+                new RankFusion.Ranking("semantic", semantic, 1.0, 60)
+        ), 100);
+    }
+
+    @Benchmark
+    public List<Long> rrfCalculatorFuse() {
+        return RRFCalculator.fuse(lexical, semantic, 100);
+    }
+
+    @Benchmark
+    public Map<Long, Double> rrfCalculatorScores() {
+        return RRFCalculator.calculateScores(lexical, semantic);
+    }
+
+    @Benchmark
+    public List<Long> legacyHashMapSort() {
+        Map<Long, Double> scores = new HashMap<>();
+        int k = 60;
+        for (int i = 0; i < lexical.size(); i++) {
+            long id = lexical.get(i);
+            scores.put(id, scores.getOrDefault(id, 0.0) + (1.0 / (k + i + 1)));
+        }
+        for (int i = 0; i < semantic.size(); i++) {
+            long id = semantic.get(i);
+            scores.put(id, scores.getOrDefault(id, 0.0) + (1.0 / (k + i + 1)));
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
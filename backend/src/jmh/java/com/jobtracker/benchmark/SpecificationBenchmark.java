@@ -0,0 +1,71 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.entity.Job;
+import com.jobtracker.repository.JobSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criteria predicate building for the job listing and the keyword fallback.
+ * Hibernate is bootstrapped with the Job mapping only; no database connection is opened.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder cb;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Job.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.connection.url", "jdbc:postgresql://localhost:5432/unused")
+                .setProperty("hibernate.connection.initial_pool_size", "0")
+                .setProperty("hibernate.connection.min_pool_size", "0")
+                .buildSessionFactory();
+        cb = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate pageAllFilters() {
+        CriteriaQuery<Job> query = cb.createQuery(Job.class);
+        Root<Job> root = query.from(Job.class);
+        return JobSpecifications.page(1000L,
+                new FacetFilter(List.of("Acme"), List.of("Remote"), List.of("linkedin"))).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate pageNoFilters() {
+        CriteriaQuery<Job> query = cb.createQuery(Job.class);
+        Root<Job> root = query.from(Job.class);
+        return JobSpecifications.page(null, new FacetFilter()).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate keyword() {
+        CriteriaQuery<Job> query = cb.createQuery(Job.class);
+        Root<Job> root = query.from(Job.class);
+        return JobSpecifications.keyword("Java Engineer").toPredicate(root, query, cb);
+    }
+}
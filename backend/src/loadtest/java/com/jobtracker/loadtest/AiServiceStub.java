@@ -0,0 +1,153 @@
+package com.jobtracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for ai_service (/rag/search_only and /recommend_file).
+ * Latency is log-normal with the configured median and p99; a share of calls fails with 500
+ * and a share hangs for the hang duration (to exercise deadlines and the circuit breaker).
+ * Semantic hits are a deterministic function of the query, drawn from the seeded job ids.
+ */
+public class AiServiceStub implements AutoCloseable {
+
+    /** Latency and failure profile of the stub. */
+    public record Profile(Duration medianLatency, Duration p99Latency, double errorRate,
+                          double hangRate, Duration hangDuration) {
+    }
+
+    // z-score of the 99th percentile of a standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Profile profile;
+    private final double mu;
+    private final double sigma;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile long[] jobIds = new long[0];
+
+    public AiServiceStub(Profile profile) throws IOException {
+        this.profile = profile;
+        double median = Math.max(1, profile.medianLatency().toNanos());
+        double p99 = Math.max(median, profile.p99Latency().toNanos());
+        this.mu = Math.log(median);
+        this.sigma = Math.log(p99 / median) / Z_99;
+
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ai-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/rag/search_only", this::search);
+        server.createContext("/recommend_file", this::recommend);
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Ids semantic hits are drawn from; set once the catalog is seeded. */
+    public void setJobIds(long[] jobIds) {
+        this.jobIds = jobIds;
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        try {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            if (!simulate(exchange)) {
+                return;
+            }
+            String query = body.path("query").asText("");
+            int k = body.path("k").asInt(20);
+            respond(exchange, 200, Map.of("results", hits(query, k)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void recommend(HttpExchange exchange) throws IOException {
+        try {
+            long size;
+            try (InputStream in = exchange.getRequestBody()) {
+                size = in.transferTo(OutputStream.nullOutputStream());
+            }
+            if (!simulate(exchange)) {
+                return;
+            }
+            respond(exchange, 200, Map.of("results", hits("resume:" + size, 5)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Sleep for a sampled latency, then answer 500 for simulated errors.
+     * @return false when an error response was already sent
+     */
+    private boolean simulate(HttpExchange exchange) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        long sleepNanos = roll < profile.hangRate()
+                ? profile.hangDuration().toNanos()
+                : (long) Math.exp(mu + sigma * random.nextGaussian());
+        try {
+            Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (roll >= profile.hangRate() && roll < profile.hangRate() + profile.errorRate()) {
+            respond(exchange, 500, Map.of("error", "simulated failure"));
+            return false;
+        }
+        return true;
+    }
+
+    private List<Map<String, Object>> hits(String query, int k) {
+        long[] ids = jobIds;
+        List<Map<String, Object>> hits = new ArrayList<>(k);
+        if (ids.length == 0) {
+            return hits;
+        }
+        Random random = new Random(query.hashCode());
+        for (int i = 0; i < k; i++) {
+            long id = ids[random.nextInt(ids.length)];
+            hits.add(Map.of("job_id", id, "match_score", 1.0 - i * 0.01));
+        }
+        return hits;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,151 @@
+package com.jobtracker.loadtest;
+
+import com.jobtracker.entity.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic job catalog: job n is the same for a given seed no matter in which
+ * batch or run it is generated, so catalogs are reproducible and re-seeding is idempotent (unique URL).
+ * Companies, skills and search terms are Zipf-skewed like real listings: a few are very common.
+ */
+public class CatalogGenerator {
+
+    private static final String[] SENIORITY = {
+            "", "", "Junior ", "Senior ", "Senior ", "Staff ", "Lead ", "Principal "
+    };
+    private static final String[] STACK = {
+            "Java", "Backend", "Python", "Full Stack", "Frontend", "React", "Data", "Machine Learning",
+            "Platform", "DevOps", "Cloud", "Android", "iOS", "Go", "Security", "QA", "Site Reliability",
+            "Embedded", "Rust", "Node.js", "Kotlin", "Scala", "Analytics", "Infrastructure"
+    };
+    private static final String[] ROLE = {
+            "Engineer", "Engineer", "Developer", "Developer", "Architect", "Scientist", "Analyst", "Manager"
+    };
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "PostgreSQL", "Redis", "Kafka", "Docker", "Kubernetes", "AWS", "GCP",
+            "Azure", "Python", "Django", "Flask", "React", "TypeScript", "GraphQL", "REST APIs", "gRPC",
+            "Terraform", "Linux", "CI/CD", "microservices", "distributed systems", "SQL", "NoSQL",
+            "Elasticsearch", "Spark", "Airflow", "PyTorch", "TensorFlow", "LLMs", "RAG", "observability",
+            "Prometheus", "Grafana", "Go", "Rust", "C++", "Kotlin", "Swift", "Hibernate", "JPA",
+            "event sourcing", "system design", "performance tuning", "security", "OAuth", "MongoDB"
+    };
+    private static final String[] LOCATIONS = {
+            "Remote", "Remote", "Remote", "New York, NY", "San Francisco, CA", "Seattle, WA", "Austin, TX",
+            "Boston, MA", "Chicago, IL", "Denver, CO", "Los Angeles, CA", "Toronto, ON", "Vancouver, BC",
+            "London, UK", "Berlin, Germany", "Amsterdam, Netherlands", "Dublin, Ireland", "Paris, France",
+            "Singapore", "Sydney, Australia", "Bangalore, India", "Tokyo, Japan", "Remote (US)", "Remote (EU)"
+    };
+    private static final String[] SOURCES = {
+            "linkedin", "indeed", "remoteok", "weworkremotely", "greenhouse", "lever"
+    };
+    private static final String[] COMPANY_PREFIX = {
+            "Blue", "North", "Bright", "Quantum", "Silver", "Cloud", "Iron", "Open", "Red", "Swift",
+            "Nova", "Peak", "Delta", "Green", "Hyper", "Stellar", "Apex", "Lumen", "Core", "Vertex"
+    };
+    private static final String[] COMPANY_SUFFIX = {
+            "Labs", "Systems", "Technologies", "Software", "Analytics", "Networks", "Health", "Capital",
+            "Robotics", "Dynamics", "Works", "AI", "Data", "Cloud", "Logistics", "Media", "Games", "Bio"
+    };
+    private static final String[] SENTENCES = {
+            "You will design and build %s services used by millions of customers.",
+            "Our team owns the %s platform end to end, from architecture to production support.",
+            "Strong experience with %s and %s is required.",
+            "Hands-on knowledge of %s is a big plus.",
+            "You will work closely with product and design to ship features built on %s.",
+            "We value clean code, code reviews and pragmatic testing with %s.",
+            "Experience operating %s in production at scale is expected.",
+            "You will mentor engineers and drive technical decisions around %s and %s.",
+            "We offer competitive salary, equity, flexible hours and a learning budget.",
+            "The role is part of a small, autonomous team with a strong on-call culture.",
+            "Familiarity with %s, %s and modern cloud tooling helps you hit the ground running.",
+            "You will improve reliability and latency of our %s stack."
+    };
+
+    private final long seed;
+
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public static String url(long n) {
+        return "https://jobs.loadtest.local/" + n;
+    }
+
+    public Job job(long n) {
+        Random random = random(n);
+        Job job = new Job();
+        job.setTitle(pick(random, SENIORITY) + zipf(random, STACK) + " " + pick(random, ROLE));
+        job.setCompany(zipf(random, COMPANY_PREFIX) + " " + pick(random, COMPANY_SUFFIX));
+        job.setLocation(zipf(random, LOCATIONS));
+        job.setSource(pick(random, SOURCES));
+        job.setUrl(url(n));
+        job.setDescription(description(random));
+        return job;
+    }
+
+    public List<Job> jobs(long from, int count) {
+        List<Job> jobs = new ArrayList<>(count);
+        for (long n = from; n < from + count; n++) {
+            jobs.add(job(n));
+        }
+        return jobs;
+    }
+
+    /**
+     * A search query as users type them: one or two skill / stack terms, sometimes with a role.
+     */
+    public static String query(Random random) {
+        String query = random.nextBoolean() ? zipf(random, SKILLS) : zipf(random, STACK);
+        if (random.nextInt(3) == 0) {
+            query += " " + zipf(random, SKILLS);
+        }
+        if (random.nextInt(4) == 0) {
+            query += " " + pick(random, ROLE).toLowerCase();
+        }
+        return query;
+    }
+
+    public static String company(Random random) {
+        return zipf(random, COMPANY_PREFIX) + " " + pick(random, COMPANY_SUFFIX);
+    }
+
+    private String description(Random random) {
+        // 6..20 sentences, roughly 80..300 words
+        int sentences = 6 + random.nextInt(15);
+        StringBuilder text = new StringBuilder(sentences * 90);
+        for (int i = 0; i < sentences; i++) {
+            String sentence = pick(random, SENTENCES);
+            text.append(String.format(sentence, zipf(random, SKILLS), zipf(random, SKILLS))).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    private Random random(long n) {
+        // SplitMix-style mixing so neighbouring jobs don't get correlated streams
+        long z = seed + n * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new Random(z ^ (z >>> 31));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // Rank r is picked with probability ~ 1/r
+    private static String zipf(Random random, String[] values) {
+        double harmonic = Math.log(values.length) + 0.5772;
+        double target = random.nextDouble() * harmonic;
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += 1.0 / (i + 1);
+            if (sum >= target) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
@@ -0,0 +1,59 @@
+package com.jobtracker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples of one operation, recorded by a single worker thread (no synchronization);
+ * per-worker instances are merged once the run is over.
+ */
+public class LatencyStats {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long errors;
+
+    public void record(long latencyNanos, boolean error) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    public void merge(LatencyStats other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    /** Sorts the samples; call once after merging, before reading percentiles. */
+    public void seal() {
+        Arrays.sort(nanos, 0, count);
+    }
+
+    /** Nearest-rank percentile in milliseconds, p in (0, 100]. */
+    public double percentileMillis(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * count);
+        return nanos[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+    }
+
+    public double maxMillis() {
+        return count == 0 ? 0 : nanos[count - 1] / 1_000_000.0;
+    }
+}
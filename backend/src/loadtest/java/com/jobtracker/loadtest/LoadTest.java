@@ -0,0 +1,343 @@
+package com.jobtracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobtracker.BackendApplication;
+import com.jobtracker.entity.Job;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test of the backend:
+ * 1. starts the ai_service stub ({@link AiServiceStub}) and the backend in this JVM, against the
+ *    local Postgres and Redis the application is configured for (docker compose up -d db redis)
+ * 2. seeds a deterministic synthetic catalog ({@link CatalogGenerator}) through batch intake
+ * 3. runs a closed-loop mixed read/write workload (one signed-in user per worker)
+ * 4. prints throughput and p50/p95/p99 per endpoint and writes target/loadtest-result.json
+ *
+ * Run with: mvn -Ploadtest -DskipTests verify [-Dloadtest.jobs=100000 -Dloadtest.users=64 ...]
+ * (see the loadtest.* properties in pom.xml). Only the warm-up-free measurement window is reported.
+ */
+public class LoadTest {
+
+    enum Operation {
+        SEARCH, DETAIL, PAGE, FAVORITE_LOOKUP, FAVORITE_ADD, FAVORITE_REMOVE, INTAKE
+    }
+
+    private static final String API_KEY_PROPERTY = "app.internal-api-key";
+    private static final String PASSWORD = "loadtest-password";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final long seed = Long.getLong("loadtest.seed", 42);
+    private final int catalogSize = Integer.getInteger("loadtest.jobs", 10_000);
+    private final int users = Integer.getInteger("loadtest.users", 32);
+    private final Duration warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+    private final Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "60s"));
+    private final int seedBatchSize = Integer.getInteger("loadtest.seed-batch-size", 1000);
+    private final int intakeBatchSize = Integer.getInteger("loadtest.intake-batch-size", 50);
+    private final Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+            "search=35,detail=25,page=15,favorite_lookup=10,favorite_add=5,favorite_remove=5,intake=5"));
+
+    private final CatalogGenerator catalog = new CatalogGenerator(seed);
+    // Jobs created during the run get indexes far past the seeded catalog, unique per run
+    private final AtomicLong nextIntakeIndex = new AtomicLong();
+
+    private String baseUrl;
+    private String apiKey;
+    private long[] jobIds;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+        // Backend and stub threads are not all daemons
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        AiServiceStub.Profile profile = new AiServiceStub.Profile(
+                Duration.parse("PT" + System.getProperty("loadtest.ai.latency-median", "0.02s")),
+                Duration.parse("PT" + System.getProperty("loadtest.ai.latency-p99", "0.2s")),
+                Double.parseDouble(System.getProperty("loadtest.ai.error-rate", "0.01")),
+                Double.parseDouble(System.getProperty("loadtest.ai.hang-rate", "0.001")),
+                Duration.parse("PT" + System.getProperty("loadtest.ai.hang-duration", "5s")));
+
+        try (AiServiceStub stub = new AiServiceStub(profile);
+             ConfigurableApplicationContext backend = startBackend(stub.url())) {
+            baseUrl = "http://127.0.0.1:" + backend.getEnvironment().getProperty("local.server.port");
+            apiKey = backend.getEnvironment().getProperty(API_KEY_PROPERTY);
+
+            JdbcTemplate jdbc = backend.getBean(JdbcTemplate.class);
+            seedCatalog(jdbc);
+            jobIds = loadJobIds(jdbc);
+            stub.setJobIds(jobIds);
+            nextIntakeIndex.set(catalogSize + System.currentTimeMillis() * 1_000);
+
+            Map<Operation, LatencyStats> results = drive();
+            report(results);
+        }
+    }
+
+    private ConfigurableApplicationContext startBackend(String aiServiceUrl) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("ai.service.url", aiServiceUrl);
+        properties.put("spring.devtools.restart.enabled", false);
+        properties.put("management.tracing.sampling.probability", 0.0);
+        properties.put("logging.level.root", "WARN");
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    // Batch intake skips known URLs, so seeding is only needed once per catalog size and seed
+    private void seedCatalog(JdbcTemplate jdbc) throws Exception {
+        Long seeded = jdbc.queryForObject("SELECT count(*) FROM job WHERE url LIKE 'https://jobs.loadtest.local/%'", Long.class);
+        if (seeded != null && seeded >= catalogSize) {
+            System.out.printf("Catalog already seeded (%d jobs)%n", seeded);
+            return;
+        }
+        System.out.printf("Seeding %d jobs (seed %d)...%n", catalogSize, seed);
+        long start = System.nanoTime();
+        ExecutorService seeders = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (long from = 0; from < catalogSize; from += seedBatchSize) {
+                long batchStart = from;
+                int count = (int) Math.min(seedBatchSize, catalogSize - from);
+                batches.add(seeders.submit(() -> {
+                    HttpResponse<String> response = intake(catalog.jobs(batchStart, count));
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } finally {
+            seeders.shutdownNow();
+        }
+        System.out.printf("Seeded in %.1fs%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private long[] loadJobIds(JdbcTemplate jdbc) {
+        long[][] ids = {new long[catalogSize]};
+        int[] count = {0};
+        jdbc.query("SELECT id FROM job ORDER BY id", row -> {
+            if (count[0] == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+            }
+            ids[0][count[0]++] = row.getLong(1);
+        });
+        return Arrays.copyOf(ids[0], count[0]);
+    }
+
+    private Map<Operation, LatencyStats> drive() throws Exception {
+        System.out.printf("Running %d users: %ss warm-up, %ss measured, mix %s%n",
+                users, warmup.toSeconds(), duration.toSeconds(), mix);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        List<Future<Map<Operation, LatencyStats>>> futures = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            int worker = user;
+            futures.add(workers.submit(() -> work(worker, measureFrom, stopAt)));
+        }
+        Map<Operation, LatencyStats> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencyStats>> future : futures) {
+            future.get().forEach((operation, stats) ->
+                    merged.computeIfAbsent(operation, o -> new LatencyStats()).merge(stats));
+        }
+        workers.shutdownNow();
+        return merged;
+    }
+
+    private Map<Operation, LatencyStats> work(int worker, long measureFrom, long stopAt) throws Exception {
+        Random random = new Random(seed * 31 + worker);
+        String token = signIn("loadtest-" + worker + "@loadtest.local");
+        Operation[] schedule = schedule();
+        Map<Operation, LatencyStats> stats = new EnumMap<>(Operation.class);
+
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            boolean error;
+            try {
+                error = execute(operation, random, token) >= 400;
+            } catch (IOException e) {
+                error = true;
+            }
+            long end = System.nanoTime();
+            if (now >= measureFrom) {
+                stats.computeIfAbsent(operation, o -> new LatencyStats()).record(end - now, error);
+            }
+        }
+        return stats;
+    }
+
+    private int execute(Operation operation, Random random, String token) throws IOException, InterruptedException {
+        return switch (operation) {
+            case SEARCH -> get("/api/jobs?query=" + encode(CatalogGenerator.query(random)), null);
+            case DETAIL -> get("/api/jobs/" + randomJobId(random), null);
+            case PAGE -> get("/api/jobs/page?size=20"
+                    + (random.nextBoolean() ? "&company=" + encode(CatalogGenerator.company(random)) : ""), null);
+            case FAVORITE_LOOKUP -> {
+                long[] ids = new long[20];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = randomJobId(random);
+                }
+                yield send(request("/api/jobs/favorites/lookup", token)
+                        .POST(json(ids)).build());
+            }
+            case FAVORITE_ADD -> send(request("/api/jobs/" + randomJobId(random) + "/favorite", token)
+                    .POST(HttpRequest.BodyPublishers.ofString("loadtest")).build());
+            case FAVORITE_REMOVE -> send(request("/api/jobs/" + randomJobId(random) + "/favorite", token)
+                    .DELETE().build());
+            case INTAKE -> intake(catalog.jobs(nextIntakeIndex.getAndAdd(intakeBatchSize), intakeBatchSize)).statusCode();
+        };
+    }
+
+    private String signIn(String email) throws IOException, InterruptedException {
+        Map<String, String> credentials = Map.of("email", email, "password", PASSWORD);
+        // 400 when the user exists from an earlier run, which is fine
+        send(request("/api/auth/signup", null).POST(json(credentials)).build());
+        HttpResponse<String> response = http.send(request("/api/auth/signin", null).POST(json(credentials)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in failed for " + email + ": " + response.statusCode());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return "Bearer " + body.path("token").asText();
+    }
+
+    private HttpResponse<String> intake(List<Job> jobs) throws IOException, InterruptedException {
+        return http.send(request("/api/internal/jobs/batch-intake", null)
+                        .header("X-Internal-API-Key", apiKey)
+                        .POST(json(jobs))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    // Bodies are drained and discarded: only status and latency matter here
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", token);
+    }
+
+    private HttpRequest.BodyPublisher json(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+    private long randomJobId(Random random) {
+        return jobIds[random.nextInt(jobIds.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // Operations repeated by weight, so picking a uniform slot follows the mix
+    private Operation[] schedule() {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split("=");
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(entry[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix selects no operation: " + spec);
+        }
+        return mix;
+    }
+
+    private void report(Map<Operation, LatencyStats> results) throws IOException {
+        double seconds = duration.toNanos() / 1e9;
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("jobs", catalogSize);
+        json.put("users", users);
+        json.put("durationSeconds", seconds);
+        Map<String, Object> operations = new LinkedHashMap<>();
+
+        System.out.printf("%n%-16s %9s %7s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<Operation, LatencyStats> entry : results.entrySet()) {
+            LatencyStats stats = entry.getValue();
+            stats.seal();
+            total += stats.count();
+            System.out.printf("%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().name().toLowerCase(Locale.ROOT), stats.count(), stats.errors(),
+                    stats.count() / seconds, stats.percentileMillis(50), stats.percentileMillis(95),
+                    stats.percentileMillis(99), stats.maxMillis());
+
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("requests", stats.count());
+            operation.put("errors", stats.errors());
+            operation.put("throughput", stats.count() / seconds);
+            operation.put("p50Millis", stats.percentileMillis(50));
+            operation.put("p95Millis", stats.percentileMillis(95));
+            operation.put("p99Millis", stats.percentileMillis(99));
+            operation.put("maxMillis", stats.maxMillis());
+            operations.put(entry.getKey().name().toLowerCase(Locale.ROOT), operation);
+        }
+        System.out.printf("%-16s %9d %7s %10.1f%n", "total", total, "", total / seconds);
+        json.put("operations", operations);
+
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), json);
+        System.out.println("Results written to " + output);
+    }
+}
@@ -0,0 +1,75 @@
+-- LIKE scan vs Postgres full-text / trigram search at 1M rows.
+--   docker compose up -d db
+--   psql -h localhost -U $DB_USERNAME -d jobtracker -f backend/src/loadtest/sql/search-benchmark.sql
+-- Works on a scratch copy (search_bench) with the same columns and indexes as schema-search.sql,
+-- so the application tables are not touched. Compare "Execution Time" of each EXPLAIN ANALYZE pair.
+-- Record results (Postgres version, hardware, the four execution times) in the PR that changes
+-- the default app.search.lexical-backend; no 1M-row numbers have been recorded yet.
+
+\timing on
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DROP TABLE IF EXISTS search_bench;
+
+CREATE TABLE search_bench (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(255),
+    company VARCHAR(255),
+    location VARCHAR(255),
+    description TEXT
+);
+
+-- 1M synthetic jobs, deterministic (setseed) with skewed vocabularies
+SELECT setseed(0.42);
+INSERT INTO search_bench (title, company, location, description)
+SELECT
+    (ARRAY['Junior ','Senior ','Staff ','Lead ',''])[1 + floor(random() * 5)::int]
+        || (ARRAY['Java','Python','Frontend','Data','Platform','DevOps','Android','Go','Security','Machine Learning'])[1 + floor(random() ^ 2 * 10)::int]
+        || (ARRAY[' Engineer',' Developer',' Architect',' Analyst'])[1 + floor(random() * 4)::int],
+    (ARRAY['Blue','North','Bright','Quantum','Silver','Cloud','Iron','Open','Red','Swift'])[1 + floor(random() ^ 2 * 10)::int]
+        || ' ' || (ARRAY['Labs','Systems','Technologies','Software','Analytics','Networks'])[1 + floor(random() * 6)::int],
+    (ARRAY['Remote','New York, NY','San Francisco, CA','Seattle, WA','London, UK','Berlin, Germany','Toronto, ON'])[1 + floor(random() * 7)::int],
+    (SELECT string_agg((ARRAY['Spring Boot','PostgreSQL','Redis','Kafka','Kubernetes','AWS','React','TypeScript',
+                              'microservices','Terraform','Airflow','PyTorch','distributed systems','observability'])[1 + floor(random() * 14)::int]
+                       || ' experience is required for building and operating our services.', ' ')
+     FROM generate_series(1, 20 + (g % 5)))
+FROM generate_series(1, 1000000) g;
+
+ALTER TABLE search_bench ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(location, '')), 'C') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(description, '')), 'D')
+    ) STORED;
+CREATE INDEX ON search_bench USING GIN (search_vector);
+CREATE INDEX ON search_bench USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX ON search_bench USING GIN (lower(company) gin_trgm_ops);
+VACUUM ANALYZE search_bench;
+
+-- Rare term: LIKE (JobSpecifications.keyword) vs full text (JobRepository.searchIdsFullText)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM search_bench
+WHERE lower(title) LIKE '%security%' OR lower(company) LIKE '%security%' OR lower(location) LIKE '%security%'
+ORDER BY id LIMIT 100;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT b.id FROM search_bench b, websearch_to_tsquery('english', 'security') q
+WHERE b.search_vector @@ q OR lower(b.title) % 'security' OR lower(b.company) % 'security'
+ORDER BY ts_rank(b.search_vector, q)
+         + greatest(similarity(lower(b.title), 'security'), similarity(lower(b.company), 'security')) DESC, b.id
+LIMIT 100;
+
+-- Misspelled company: LIKE finds nothing, trigram similarity does
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM search_bench
+WHERE lower(title) LIKE '%quantm labs%' OR lower(company) LIKE '%quantm labs%' OR lower(location) LIKE '%quantm labs%'
+ORDER BY id LIMIT 100;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT b.id FROM search_bench b, websearch_to_tsquery('english', 'quantm labs') q
+WHERE b.search_vector @@ q OR lower(b.title) % 'quantm labs' OR lower(b.company) % 'quantm labs'
+ORDER BY ts_rank(b.search_vector, q)
+         + greatest(similarity(lower(b.title), 'quantm labs'), similarity(lower(b.company), 'quantm labs')) DESC, b.id
+LIMIT 100;
+
+DROP TABLE search_bench;
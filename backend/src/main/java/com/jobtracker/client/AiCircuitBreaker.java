@@ -0,0 +1,192 @@
+package com.jobtracker.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker around the AI retriever of hybrid search.
+ * - CLOSED: calls go through, the outcome of the last N calls is kept in a ring buffer
+ * - OPEN: once the error rate or the slow-call rate in that window crosses its threshold,
+ *   calls are skipped (search answers lexical-only) for open-duration
+ * - HALF_OPEN: a few probe calls are let through; all good closes the breaker, any bad one reopens it
+ *
+ * State is exported as gauge ai.circuit.state (0 closed, 1 half-open, 2 open) and as a health component.
+ */
+@Slf4j
+@Component
+public class AiCircuitBreaker implements HealthIndicator {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private static final byte OK = 0;
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    // Outcomes of the last calls while CLOSED
+    private final byte[] window;
+    private int windowPos;
+    private int windowCount;
+    private int failedInWindow;
+    private int slowInWindow;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    private final Counter notPermitted;
+    private final MeterRegistry meterRegistry;
+
+    public AiCircuitBreaker(MeterRegistry meterRegistry,
+                            @Value("${ai.client.breaker.window-size:20}") int windowSize,
+                            @Value("${ai.client.breaker.minimum-calls:10}") int minimumCalls,
+                            @Value("${ai.client.breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                            @Value("${ai.client.breaker.slow-call-rate-threshold:0.8}") double slowCallRateThreshold,
+                            @Value("${ai.client.breaker.slow-call-duration:800ms}") Duration slowCallDuration,
+                            @Value("${ai.client.breaker.open-duration:10s}") Duration openDuration,
+                            @Value("${ai.client.breaker.half-open-probes:3}") int halfOpenProbes) {
+        this.window = new byte[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("ai.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("AI retriever circuit breaker: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+        this.notPermitted = Counter.builder("ai.circuit.not.permitted")
+                .description("AI calls skipped because the breaker was open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if the AI call may be made; the caller must then report it via
+     * {@link #onSuccess}, {@link #onError} or {@link #releasePermission}
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                notPermitted.increment();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                notPermitted.increment();
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    // The permitted call was never made (e.g. executor rejected it)
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? SLOW : OK);
+    }
+
+    public synchronized void onError(long durationNanos) {
+        record(FAILED);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(byte outcome) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (outcome != OK) {
+                    transitionTo(State.OPEN);
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                if (windowCount == window.length) {
+                    forget(window[windowPos]);
+                } else {
+                    windowCount++;
+                }
+                window[windowPos] = outcome;
+                windowPos = (windowPos + 1) % window.length;
+                if (outcome == FAILED) {
+                    failedInWindow++;
+                } else if (outcome == SLOW) {
+                    slowInWindow++;
+                }
+                if (windowCount >= minimumCalls
+                        && (failedInWindow >= failureRateThreshold * windowCount
+                        || slowInWindow >= slowCallRateThreshold * windowCount)) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case OPEN -> {
+                // Late result of a call started before the breaker opened
+            }
+        }
+    }
+
+    private void forget(byte outcome) {
+        if (outcome == FAILED) {
+            failedInWindow--;
+        } else if (outcome == SLOW) {
+            slowInWindow--;
+        }
+    }
+
+    private void transitionTo(State next) {
+        log.warn("AI circuit breaker {} -> {} (window: {} calls, {} failed, {} slow)",
+                state, next, windowCount, failedInWindow, slowInWindow);
+        Counter.builder("ai.circuit.transitions").tag("to", next.name().toLowerCase())
+                .register(meterRegistry).increment();
+        state = next;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next == State.CLOSED) {
+            windowPos = 0;
+            windowCount = 0;
+            failedInWindow = 0;
+            slowInWindow = 0;
+        }
+    }
+
+    // Reported as UP in every state: an open breaker means degraded search, not a dead backend
+    @Override
+    public synchronized Health health() {
+        return Health.up()
+                .withDetail("state", state)
+                .withDetail("bufferedCalls", windowCount)
+                .withDetail("failedCalls", failedInWindow)
+                .withDetail("slowCalls", slowInWindow)
+                .build();
+    }
+}
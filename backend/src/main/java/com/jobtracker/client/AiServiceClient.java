@@ -0,0 +1,380 @@
+package com.jobtracker.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Client for the Python ai_service.
+ * - pooled Reactor Netty connections with connect/response timeouts
+ * - a hard deadline per call, so a hung ai_service can't hold request threads
+ * - optional hedging for semantic search: a second request is sent if the first
+ *   hasn't answered after the observed p95 latency, the first answer wins.
+ *   Only once enough calls have been timed, and never in reaction to an error
+ * - latency distribution per endpoint/outcome exported as "ai.client.requests"
+ */
+@Slf4j
+@Component
+public class AiServiceClient {
+
+    private static final String SEARCH_PATH = "/rag/search_only";
+    private static final String RECOMMEND_FILE_PATH = "/recommend_file";
+    private static final String EMBED_PATH = "/rag/embed";
+    private static final String EXPORT_EMBEDDINGS_PATH = "/rag/export_embeddings";
+    private static final int EMBEDDINGS_MAGIC = 0x4A454D42; // "JEMB"
+    private static final int EMBEDDINGS_FORMAT_VERSION = 2;
+    // Job id of the trailer record, followed by the number of vectors sent
+    private static final long EMBEDDINGS_END = -1;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Duration searchDeadline;
+    private final Duration recommendDeadline;
+    private final Duration exportDeadline;
+    private final boolean hedgingEnabled;
+    private final Duration minHedgeDelay;
+    private final int minHedgeSamples;
+    private final int maxResponseBytes;
+
+    private final Timer searchSuccessTimer;
+    private final Counter hedgedRequests;
+
+    public AiServiceClient(WebClient.Builder webClientBuilder,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${ai.service.url:http://localhost:5001}") String aiServiceUrl,
+                           @Value("${ai.client.max-connections:50}") int maxConnections,
+                           @Value("${ai.client.pending-acquire-timeout:500ms}") Duration pendingAcquireTimeout,
+                           @Value("${ai.client.connect-timeout:1s}") Duration connectTimeout,
+                           @Value("${ai.client.response-timeout:30s}") Duration responseTimeout,
+                           @Value("${ai.client.search-deadline:2s}") Duration searchDeadline,
+                           @Value("${ai.client.recommend-deadline:60s}") Duration recommendDeadline,
+                           @Value("${ai.client.export-deadline:10m}") Duration exportDeadline,
+                           @Value("${ai.client.hedging.enabled:true}") boolean hedgingEnabled,
+                           @Value("${ai.client.hedging.min-delay:100ms}") Duration minHedgeDelay,
+                           @Value("${ai.client.hedging.min-samples:100}") int minHedgeSamples,
+                           @Value("${ai.client.max-response-bytes:4194304}") int maxResponseBytes) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.searchDeadline = searchDeadline;
+        this.recommendDeadline = recommendDeadline;
+        this.exportDeadline = exportDeadline;
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelay = minHedgeDelay;
+        this.minHedgeSamples = minHedgeSamples;
+        this.maxResponseBytes = maxResponseBytes;
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("ai-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(aiServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        this.searchSuccessTimer = latencyTimer(SEARCH_PATH, "success");
+        this.hedgedRequests = Counter.builder("ai.client.hedged")
+                .tag("endpoint", SEARCH_PATH)
+                .register(meterRegistry);
+    }
+
+    private Timer latencyTimer(String endpoint, String outcome) {
+        return Timer.builder("ai.client.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Semantic search: IDs of the top k jobs for the query, best first.
+     * Throws if ai_service fails or the deadline passes.
+     */
+    public List<Long> searchJobIds(String query, int k) {
+        Mono<List<Long>> primary = searchOnce(query, k);
+        Mono<List<Long>> call = primary;
+        Duration hedgeDelay = hedgingEnabled ? hedgeDelay() : null;
+        if (hedgeDelay != null) {
+            // A failed hedge is ignored; a failed primary fails the call at once and cancels a pending hedge
+            Mono<List<Long>> hedge = Mono.delay(hedgeDelay)
+                    .doOnNext(tick -> hedgedRequests.increment())
+                    .then(searchOnce(query, k))
+                    .onErrorResume(error -> Mono.never());
+            call = Mono.firstWithSignal(primary, hedge);
+        }
+        return call.timeout(searchDeadline).block();
+    }
+
+    private Mono<List<Long>> searchOnce(String query, int k) {
+        return timed(SEARCH_PATH, webClient.post()
+                .uri(SEARCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query, "k", k))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> DataBufferUtils.join(body, maxResponseBytes))
+                .map(buffer -> decode(buffer, AiServiceClient::parseJobIds)));
+    }
+
+    /**
+     * Hedge once the primary request is slower than 95% of recent successful calls.
+     * Null (don't hedge) until min-samples calls were timed, or when no call succeeded recently:
+     * an empty p95 would otherwise make every request hedge after min-delay.
+     */
+    private Duration hedgeDelay() {
+        if (searchSuccessTimer.count() < minHedgeSamples) {
+            return null;
+        }
+        long p95Nanos = 0;
+        for (ValueAtPercentile value : searchSuccessTimer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == 0.95) {
+                p95Nanos = (long) value.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        if (p95Nanos <= 0) {
+            return null;
+        }
+        long delay = Math.max(p95Nanos, minHedgeDelay.toNanos());
+        return Duration.ofNanos(Math.min(delay, searchDeadline.toNanos()));
+    }
+
+    /**
+     * Resume based recommendations. Not hedged: the call runs full model inference.
+     * The resume is written to the request body in chunks, so pass a streaming resource.
+     * ai_service only answers after inference, so the response timeout of this exchange is
+     * raised to the deadline (the client-wide ai.client.response-timeout is shorter).
+     */
+    public List<Map<String, Object>> recommendFromFile(Resource resume, String authToken) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("resume_file", resume);
+
+        return timed(RECOMMEND_FILE_PATH, webClient.post()
+                .uri(RECOMMEND_FILE_PATH)
+                .header(HttpHeaders.AUTHORIZATION, authToken)
+                .httpRequest(request -> {
+                    HttpClientRequest nativeRequest = request.getNativeRequest();
+                    nativeRequest.responseTimeout(recommendDeadline);
+                })
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(response -> DataBufferUtils.join(response, maxResponseBytes))
+                .map(buffer -> decode(buffer, this::parseRecommendations)))
+                .timeout(recommendDeadline)
+                .block();
+    }
+
+    /**
+     * Embedding of a search query (same model as the job vectors). Deadline as for semantic search.
+     */
+    public float[] embedQuery(String query) {
+        return timed(EMBED_PATH, webClient.post()
+                .uri(EMBED_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> DataBufferUtils.join(body, maxResponseBytes))
+                .map(buffer -> decode(buffer, AiServiceClient::parseEmbedding)))
+                .timeout(searchDeadline)
+                .block();
+    }
+
+    /** Receives the job vectors of an embeddings export. */
+    public interface EmbeddingSink {
+        /** Called once before the first vector; count is -1 when ai_service doesn't know it upfront. */
+        void start(int dimension, long count);
+
+        void accept(long jobId, float[] vector);
+
+        /** Called after the last vector with the number of vectors ai_service says it sent. */
+        void end(long count);
+    }
+
+    /**
+     * Stream all job vectors from ai_service into the sink. The export can be large
+     * (count x dimension floats), so it is read incrementally from the response body.
+     * A stalled connection fails after ai.client.response-timeout without data, the whole export
+     * after ai.client.export-deadline. An export cut off before its trailer record fails too,
+     * so a partial export is never taken for a complete one.
+     */
+    public void exportEmbeddings(EmbeddingSink sink) throws IOException {
+        long deadline = System.nanoTime() + exportDeadline.toNanos();
+        Flux<DataBuffer> body = webClient.get()
+                .uri(EXPORT_EMBEDDINGS_PATH)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                DataBufferUtils.subscriberInputStream(body, 16), 1 << 16))) {
+            if (in.readInt() != EMBEDDINGS_MAGIC || in.readInt() != EMBEDDINGS_FORMAT_VERSION) {
+                throw new IOException("Unsupported embeddings export format");
+            }
+            int dimension = in.readInt();
+            sink.start(dimension, in.readLong());
+            while (true) {
+                long jobId = in.readLong();
+                if (jobId == EMBEDDINGS_END) {
+                    sink.end(in.readLong());
+                    if (in.read() != -1) {
+                        throw new IOException("Unexpected data after embeddings export trailer");
+                    }
+                    return;
+                }
+                float[] vector = new float[dimension];
+                for (int i = 0; i < dimension; i++) {
+                    vector[i] = in.readFloat();
+                }
+                sink.accept(jobId, vector);
+                if (System.nanoTime() - deadline > 0) {
+                    throw new IOException("Embeddings export took longer than " + exportDeadline);
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("Embeddings export ended before its trailer", e);
+        }
+    }
+
+    private <T> Mono<T> timed(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> latencyTimer(endpoint, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> latencyTimer(endpoint, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnCancel(() -> latencyTimer(endpoint, "cancelled").record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static <T> T decode(DataBuffer buffer, IoFunction<InputStream, T> parser) {
+        try (InputStream in = buffer.asInputStream(true)) {
+            return parser.apply(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid response from AI service", e);
+        }
+    }
+
+    /**
+     * Pull "results[].job_id" straight off the token stream; titles/descriptions in the
+     * response are skipped without ever being turned into objects.
+     */
+    static List<Long> parseJobIds(InputStream in) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return ids;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"results".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String itemField = parser.currentName();
+                        JsonToken itemValue = parser.nextToken();
+                        if ("job_id".equals(itemField) && itemValue == JsonToken.VALUE_NUMBER_INT) {
+                            ids.add(parser.getLongValue());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    // {"embedding": [0.1, ...]}, read straight into a float array
+    static float[] parseEmbedding(InputStream in) throws IOException {
+        float[] values = new float[1536];
+        int count = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"embedding".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count * 2);
+                    }
+                    values[count++] = parser.getFloatValue();
+                }
+            }
+        }
+        if (count == 0) {
+            throw new IOException("Response has no embedding");
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    // ai_service answers {"results": [...], ...}; older versions returned the bare list
+    private List<Map<String, Object>> parseRecommendations(InputStream in) throws IOException {
+        JsonNode root = objectMapper.readTree(in);
+        JsonNode results = root.isArray() ? root : root.path("results");
+        return objectMapper.convertValue(results.isMissingNode() ? objectMapper.createArrayNode() : results,
+                new TypeReference<List<Map<String, Object>>>() {});
+    }
+
+    @FunctionalInterface
+    private interface IoFunction<I, O> {
+        O apply(I input) throws IOException;
+    }
+}
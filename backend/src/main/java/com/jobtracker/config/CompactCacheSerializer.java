@@ -0,0 +1,373 @@
+package com.jobtracker.config;
+
+import com.jobtracker.dto.FacetCount;
+import com.jobtracker.dto.JobPage;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.entity.Job;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Redis cache value serializer with a compact binary format for the hot cache values
+ * (Job, List&lt;Job&gt;, List&lt;JobSummary&gt;, JobPage) and the JSON serializer as fallback for everything else.
+ *
+ * Layout: [magic 0xC5][format version][flags][codec id][payload]
+ * - codec id: 0 = JSON (fallback serializer), 1 = Job, 2 = List&lt;Job&gt;,
+ *   3 = JobPage of Job (retired, reads as a miss), 4 = List&lt;JobSummary&gt;, 5 = JobPage,
+ *   6 = JobPage with facet counts (older nodes read it as a miss)
+ * - flags bit 0: payload is deflate-compressed (only done above the size threshold)
+ * - format version 2 added JobSummary.snippet; version 1 values read as a miss
+ *
+ * Values without the magic byte are legacy JSON and still readable. Values with an unknown
+ * format version read as null, i.e. a cache miss that gets recomputed and overwritten.
+ * For a rolling upgrade, deploy with write-format "json" first and switch to "binary" once
+ * every node can read it.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC5;
+    static final byte VERSION = 2;
+
+    private static final int FLAG_DEFLATE = 1;
+
+    private static final byte CODEC_JSON = 0;
+    private static final byte CODEC_JOB = 1;
+    private static final byte CODEC_JOB_LIST = 2;
+    private static final byte CODEC_SUMMARY_LIST = 4;
+    private static final byte CODEC_JOB_PAGE = 5;
+    private static final byte CODEC_JOB_PAGE_FACETS = 6;
+
+    private static final int HEADER_SIZE = 4;
+
+    private final RedisSerializer<Object> jsonSerializer;
+    private final boolean writeBinary;
+    private final int compressionThreshold;
+
+    /**
+     * @param jsonSerializer       serializer for values without a binary codec and for legacy entries
+     * @param writeBinary          false writes plain JSON (readable by older nodes), true writes the binary format
+     * @param compressionThreshold payloads of at least this many bytes are deflated; negative disables compression
+     */
+    public CompactCacheSerializer(RedisSerializer<Object> jsonSerializer, boolean writeBinary, int compressionThreshold) {
+        this.jsonSerializer = jsonSerializer;
+        this.writeBinary = writeBinary;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!writeBinary) {
+            return jsonSerializer.serialize(value);
+        }
+        try {
+            byte codec = codecOf(value);
+            byte[] payload;
+            if (codec == CODEC_JSON) {
+                payload = jsonSerializer.serialize(value);
+            } else {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                DataOutputStream out = new DataOutputStream(bytes);
+                writeValue(codec, value, out);
+                out.flush();
+                payload = bytes.toByteArray();
+            }
+            boolean deflate = compressionThreshold >= 0 && payload.length >= compressionThreshold;
+            ByteArrayOutputStream result = new ByteArrayOutputStream(deflate ? payload.length / 3 + HEADER_SIZE : payload.length + HEADER_SIZE);
+            result.write(MAGIC);
+            result.write(VERSION);
+            result.write(deflate ? FLAG_DEFLATE : 0);
+            result.write(codec);
+            if (deflate) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (OutputStream out = new DeflaterOutputStream(result, deflater, 8192)) {
+                    out.write(payload);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                result.write(payload);
+            }
+            return result.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            // Legacy entry written by the plain JSON serializer
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[1] != VERSION) {
+            return null;
+        }
+        boolean deflated = (bytes[2] & FLAG_DEFLATE) != 0;
+        byte codec = bytes[3];
+        try {
+            if (codec == CODEC_JSON) {
+                return jsonSerializer.deserialize(deflated ? inflate(bytes) : Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length));
+            }
+            ByteArrayInputStream payload = deflated
+                    ? new ByteArrayInputStream(inflate(bytes))
+                    : new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+            return readValue(codec, new DataInputStream(payload));
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode cache value", e);
+        }
+    }
+
+    // Inflate into one array up front; decoding field by field through an inflater stream is several times slower
+    private static byte[] inflate(byte[] bytes) throws IOException {
+        Inflater inflater = new Inflater();
+        try (InputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE), inflater, 8192)) {
+            return in.readAllBytes();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte codecOf(Object value) {
+        if (value instanceof Job) {
+            return CODEC_JOB;
+        }
+        if (value instanceof JobPage page && allOf(page.getItems(), JobSummary.class)) {
+            return page.getFacets() == null ? CODEC_JOB_PAGE : CODEC_JOB_PAGE_FACETS;
+        }
+        if (value instanceof List<?> list && !list.isEmpty()) {
+            if (allOf(list, Job.class)) {
+                return CODEC_JOB_LIST;
+            }
+            if (allOf(list, JobSummary.class)) {
+                return CODEC_SUMMARY_LIST;
+            }
+        }
+        return CODEC_JSON;
+    }
+
+    private static boolean allOf(List<?> list, Class<?> type) {
+        if (list == null) {
+            return false;
+        }
+        for (Object element : list) {
+            if (!type.isInstance(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeValue(byte codec, Object value, DataOutputStream out) throws IOException {
+        switch (codec) {
+            case CODEC_JOB -> writeJob((Job) value, out);
+            case CODEC_JOB_LIST -> writeJobs((List<?>) value, out);
+            case CODEC_SUMMARY_LIST -> writeSummaries((List<?>) value, out);
+            case CODEC_JOB_PAGE, CODEC_JOB_PAGE_FACETS -> {
+                JobPage page = (JobPage) value;
+                writeSummaries(page.getItems(), out);
+                writeNullableLong(page.getNextCursor(), out);
+                out.writeBoolean(page.isHasMore());
+                if (codec == CODEC_JOB_PAGE_FACETS) {
+                    writeFacets(page.getFacets(), out);
+                }
+            }
+            default -> throw new IllegalArgumentException("No binary codec " + codec);
+        }
+    }
+
+    private static Object readValue(byte codec, DataInputStream in) throws IOException {
+        return switch (codec) {
+            case CODEC_JOB -> readJob(in);
+            case CODEC_JOB_LIST -> readJobs(in);
+            case CODEC_SUMMARY_LIST -> readSummaries(in);
+            case CODEC_JOB_PAGE -> new JobPage(readSummaries(in), readNullableLong(in), in.readBoolean(), null);
+            case CODEC_JOB_PAGE_FACETS -> new JobPage(readSummaries(in), readNullableLong(in), in.readBoolean(), readFacets(in));
+            // Written by a newer node: treat as a miss
+            default -> null;
+        };
+    }
+
+    private static void writeJobs(List<?> jobs, DataOutputStream out) throws IOException {
+        writeVarInt(jobs.size(), out);
+        for (Object job : jobs) {
+            writeJob((Job) job, out);
+        }
+    }
+
+    private static List<Job> readJobs(DataInputStream in) throws IOException {
+        int size = readVarInt(in);
+        List<Job> jobs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            jobs.add(readJob(in));
+        }
+        return jobs;
+    }
+
+    private static void writeSummaries(List<?> summaries, DataOutputStream out) throws IOException {
+        writeVarInt(summaries.size(), out);
+        for (Object summary : summaries) {
+            writeSummary((JobSummary) summary, out);
+        }
+    }
+
+    private static List<JobSummary> readSummaries(DataInputStream in) throws IOException {
+        int size = readVarInt(in);
+        List<JobSummary> summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            summaries.add(readSummary(in));
+        }
+        return summaries;
+    }
+
+    // Facet key, then its values with counts, in map order
+    private static void writeFacets(Map<String, List<FacetCount>> facets, DataOutputStream out) throws IOException {
+        writeVarInt(facets.size(), out);
+        for (Map.Entry<String, List<FacetCount>> facet : facets.entrySet()) {
+            writeString(facet.getKey(), out);
+            writeVarInt(facet.getValue().size(), out);
+            for (FacetCount count : facet.getValue()) {
+                writeString(count.getValue(), out);
+                writeVarInt(count.getCount(), out);
+            }
+        }
+    }
+
+    private static Map<String, List<FacetCount>> readFacets(DataInputStream in) throws IOException {
+        int size = readVarInt(in);
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            int values = readVarInt(in);
+            List<FacetCount> counts = new ArrayList<>(values);
+            for (int j = 0; j < values; j++) {
+                counts.add(new FacetCount(readString(in), readVarInt(in)));
+            }
+            facets.put(key, counts);
+        }
+        return facets;
+    }
+
+    // Field order is part of the format version
+    private static void writeSummary(JobSummary summary, DataOutputStream out) throws IOException {
+        writeNullableLong(summary.getId(), out);
+        writeString(summary.getTitle(), out);
+        writeString(summary.getCompany(), out);
+        writeString(summary.getLocation(), out);
+        writeString(summary.getUrl(), out);
+        writeString(summary.getSource(), out);
+        writeString(summary.getSnippet(), out);
+    }
+
+    private static JobSummary readSummary(DataInputStream in) throws IOException {
+        return new JobSummary(readNullableLong(in), readString(in), readString(in),
+                readString(in), readString(in), readString(in), readString(in));
+    }
+
+    // Field order is part of the format version
+    private static void writeJob(Job job, DataOutputStream out) throws IOException {
+        writeNullableLong(job.getId(), out);
+        writeString(job.getTitle(), out);
+        writeString(job.getCompany(), out);
+        writeString(job.getLocation(), out);
+        writeString(job.getUrl(), out);
+        writeString(job.getSource(), out);
+        writeString(job.getDescription(), out);
+    }
+
+    private static Job readJob(DataInputStream in) throws IOException {
+        Job job = new Job();
+        job.setId(readNullableLong(in));
+        job.setTitle(readString(in));
+        job.setCompany(readString(in));
+        job.setLocation(readString(in));
+        job.setUrl(readString(in));
+        job.setSource(readString(in));
+        job.setDescription(readString(in));
+        return job;
+    }
+
+    // Length + 1 as varint (0 = null), then UTF-8 bytes
+    private static void writeString(String value, DataOutputStream out) throws IOException {
+        if (value == null) {
+            writeVarInt(0, out);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(utf8.length + 1, out);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // Value + 1 as unsigned varlong (0 = null); ids and cursors are positive
+    private static void writeNullableLong(Long value, DataOutputStream out) throws IOException {
+        long v = value == null ? 0 : value + 1;
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return v == 0 ? null : v - 1;
+            }
+        }
+        throw new IOException("Malformed varlong");
+    }
+
+    private static void writeVarInt(int value, DataOutputStream out) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,28 @@
+package com.jobtracker.config;
+
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Applies schema-changes.sql (job_change outbox table, catalog version sequence) on every startup.
+ * Being a script database initializer, it runs before the EntityManagerFactory, so the table
+ * exists when Hibernate only validates the schema (prod). Spring Boot's own spring.sql.init
+ * initializer backs off while this one is defined; data.sql is a manual dev reset script anyway.
+ */
+@Configuration
+public class JobChangeSchema {
+
+    @Bean
+    public DataSourceScriptDatabaseInitializer jobChangeSchemaInitializer(DataSource dataSource) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of("classpath:schema-changes.sql"));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        return new DataSourceScriptDatabaseInitializer(dataSource, settings);
+    }
+}
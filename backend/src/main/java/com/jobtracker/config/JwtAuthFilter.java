@@ -1,38 +1,32 @@
 package com.jobtracker.config;
 
+import com.jobtracker.service.TokenRevocationService;
+import com.jobtracker.service.UserService;
 import com.jobtracker.service.impl.UsersDetailsImpl;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtParser;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
-    private final UserDetailsService userDetailsService;
-    private final SecretKey secretKey; // Use pre-computed key
+    private final JwtParser jwtParser; // Shared, thread-safe parser
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -47,15 +41,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // New jjwt parsing method
-            Claims claims = Jwts.parser()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
 
-            // Load user from database to ensure latest data
-            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            if (tokenRevocationService.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt())) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "JWT revoked");
+                return;
+            }
+
+            // Fast path: id and role are in the token, no database lookup.
+            // Older tokens without them fall back to the (cached) user lookup.
+            Long userId = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+            String role = claims.get(JwtUtils.CLAIM_ROLE, String.class);
+            UsersDetailsImpl userDetails = userId != null && role != null
+                    ? new UsersDetailsImpl(userId, claims.getSubject(), role)
+                    : userService.loadPrincipal(claims.getSubject());
 
             Authentication authentication = new UsernamePasswordAuthenticationToken(
                     userDetails,
@@ -83,4 +82,4 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         return (header != null && header.startsWith("Bearer ")) ?
                 header.substring(7) : null;
     }
-}
\ No newline at end of file
+}
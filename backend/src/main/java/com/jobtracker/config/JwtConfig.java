@@ -1,4 +1,6 @@
 package com.jobtracker.config;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,4 +18,12 @@ public class JwtConfig {
         // Convert configured string key to secure SecretKey
         return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
+
+    // Immutable and thread-safe: built once instead of per request
+    @Bean
+    public JwtParser jwtParser(SecretKey secretKey) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
 }
@@ -10,10 +10,15 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 // JwtUtils.java
 @Component
 public class JwtUtils {
+    // Claims that let JwtAuthFilter build the principal without a database lookup
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     private final SecretKey secretKey; // Inject unified SecretKey
     private final int jwtExpirationMs;
 
@@ -26,6 +31,9 @@ public class JwtUtils {
         UsersDetailsImpl userPrincipal = (UsersDetailsImpl) authentication.getPrincipal();
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
+                .id(UUID.randomUUID().toString()) // jti, for per-token revocation
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLE, userPrincipal.getRole())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
                 .signWith(secretKey, SignatureAlgorithm.HS512) // Use SecretKey
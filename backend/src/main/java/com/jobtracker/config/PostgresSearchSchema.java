@@ -0,0 +1,57 @@
+package com.jobtracker.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Applies schema-search.sql (tsvector column, GIN and trigram indexes) when the Postgres search
+ * backend is selected. Depends on the EntityManagerFactory so Hibernate has created the job table first.
+ * Indexes are built CONCURRENTLY, but adding the generated column rewrites and locks the job table
+ * (see schema-search.sql): on a large existing table apply the script by hand before switching.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.lexical-backend", havingValue = "postgres")
+public class PostgresSearchSchema {
+
+    private static final List<String> INDEXES = List.of("idx_job_search_vector", "idx_job_title_trgm", "idx_job_company_trgm");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresSearchSchema(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void apply() {
+        long start = System.nanoTime();
+        dropInvalidIndexes();
+        // Not inside a transaction: each statement autocommits, as CREATE INDEX CONCURRENTLY requires
+        new ResourceDatabasePopulator(new ClassPathResource("schema-search.sql")).execute(dataSource);
+        log.info("Search schema applied in {}ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Left behind by an interrupted concurrent build; IF NOT EXISTS would keep them forever
+    private void dropInvalidIndexes() {
+        List<String> invalid = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                        + "WHERE NOT i.indisvalid AND c.relname = ANY (?)",
+                String.class, (Object) INDEXES.toArray(new String[0]));
+        for (String index : invalid) {
+            log.warn("Dropping invalid search index {} so it is rebuilt", index);
+            // Names come from INDEXES above, never from input
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+        }
+    }
+}
@@ -4,7 +4,8 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import org.springframework.cache.CacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,8 +13,12 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -27,11 +32,7 @@ public class RedisConfig {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // Configure ObjectMapper
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
-        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(mapper, Object.class);
+        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(cacheObjectMapper(), Object.class);
 
         // Use StringRedisSerializer to serialize and deserialize redis key
         template.setKeySerializer(new StringRedisSerializer());
@@ -43,24 +44,63 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Two-level cache: per-node Caffeine L1 in front of the shared Redis L2.
+     * L1 entries are dropped on all nodes through Redis pub/sub when a key changes.
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Configure ObjectMapper
-        ObjectMapper om = new ObjectMapper();
-        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${app.cache.l1.max-size:10000}") long l1MaxSize,
+                                             @Value("${app.cache.l1.ttl:60s}") Duration l1Ttl,
+                                             @Value("${app.cache.list-ttl:10m}") Duration listTtl,
+                                             @Value("${app.cache.codec.write-format:binary}") String writeFormat,
+                                             @Value("${app.cache.codec.compression-threshold:1024}") int compressionThreshold) {
+        RedisSerializer<Object> valueSerializer = new CompactCacheSerializer(
+                new Jackson2JsonRedisSerializer<>(cacheObjectMapper(), Object.class),
+                "binary".equalsIgnoreCase(writeFormat), compressionThreshold);
+        return new TwoLevelCacheManager(redisCacheManager(connectionFactory, listTtl, valueSerializer), stringRedisTemplate,
+                meterRegistry, l1MaxSize, l1Ttl);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.CHANNEL));
+        return container;
+    }
 
-        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(om, Object.class);
+    // L2, not exposed as a bean so there is a single CacheManager for @Cacheable
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, Duration listTtl,
+                                                RedisSerializer<Object> valueSerializer) {
 
         // Configure cache
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(2)) // Extend expiration time to 2 hours
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jackson2JsonRedisSerializer))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                // Versioned list entries become unreachable after each write, let them expire sooner
+                .withCacheConfiguration("jobLists", config.entryTtl(listTtl))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
+    }
+
+    /**
+     * ObjectMapper for Redis values: field visibility + type info for all non-final types,
+     * so cached values come back as their original classes.
+     */
+    public static ObjectMapper cacheObjectMapper() {
+        ObjectMapper om = new ObjectMapper();
+        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        return om;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.jobtracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor for the hybrid search fan-out (AI semantic retrieval).
+ * Bounded so a slow AI service can only tie up a fixed number of threads; once
+ * threads and queue are full the task is rejected and search degrades to lexical.
+ */
+@Configuration
+public class SearchExecutorConfig {
+
+    // defaultCandidate = false: not picked up by type, so Spring Boot still creates applicationTaskExecutor
+    @Bean(name = "searchExecutor", defaultCandidate = false)
+    public ThreadPoolTaskExecutor searchExecutor(MeterRegistry meterRegistry,
+                                                 @Value("${app.search.executor.core-size:8}") int coreSize,
+                                                 @Value("${app.search.executor.max-size:32}") int maxSize,
+                                                 @Value("${app.search.executor.queue-capacity:64}") int queueCapacity) {
+        Counter rejected = Counter.builder("search.executor.rejected")
+                .description("Search tasks rejected because the executor was saturated")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Search executor saturated");
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // Pool size, active threads, queue depth, task timings as executor.* {name=searchExecutor}
+    @Bean
+    public MeterBinder searchExecutorMetrics(@Qualifier("searchExecutor") ThreadPoolTaskExecutor searchExecutor) {
+        return registry -> new ExecutorServiceMetrics(searchExecutor.getThreadPoolExecutor(), "searchExecutor", List.of())
+                .bindTo(registry);
+    }
+}
@@ -32,6 +32,11 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtAuthFilter jwtAuthFilter;
     private final PasswordEncoder passwordEncoder;  // Now injected from external
+
+    // Actuator port (management.server.port), not published outside the container network
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -40,6 +45,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/jobs", "/api/jobs/**").permitAll()  // Allow all GET requests to job-related endpoints
                         .requestMatchers("/api/internal/**").permitAll()
+                        // Scraped without credentials, but only on the management port; on the public port it needs auth
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
                         // -- Regular user paths --
@@ -0,0 +1,147 @@
+package com.jobtracker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache with an in-process Caffeine L1 in front of a shared (Redis) L2.
+ * Writes go to both levels; every put/evict/clear is broadcast so other nodes drop their L1 copy.
+ * Invalidations travel as text, so L1 is keyed by {@code String.valueOf(key)} whatever the key type.
+ */
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache remote;
+    // (cacheName, key or null for clear) -> notify other nodes
+    private final BiConsumer<String, Object> invalidationPublisher;
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+
+    public TwoLevelCache(String name,
+                         Cache<String, Object> local,
+                         org.springframework.cache.Cache remote,
+                         BiConsumer<String, Object> invalidationPublisher,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+
+        this.l1Hits = Counter.builder("cache.two.level.gets").tag("cache", name).tag("result", "l1_hit").register(meterRegistry);
+        this.l2Hits = Counter.builder("cache.two.level.gets").tag("cache", name).tag("result", "l2_hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.two.level.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("cache.two.level.hit.ratio", this, c -> c.ratio(c.l1Hits.count(), c.total()))
+                .tag("cache", name).tag("level", "l1").register(meterRegistry);
+        Gauge.builder("cache.two.level.hit.ratio", this, c -> c.ratio(c.l1Hits.count() + c.l2Hits.count(), c.total()))
+                .tag("cache", name).tag("level", "l2").register(meterRegistry);
+        Gauge.builder("cache.two.level.l1.size", local, Cache::estimatedSize).tag("cache", name).register(meterRegistry);
+    }
+
+    private double total() {
+        return l1Hits.count() + l2Hits.count() + misses.count();
+    }
+
+    private double ratio(double hits, double total) {
+        return total == 0 ? 0 : hits / total;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            l2Hits.increment();
+            local.put(localKey(key), wrapper.get());
+            return wrapper;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value == null) {
+            local.invalidate(localKey(key));
+        } else {
+            local.put(localKey(key), value);
+        }
+        invalidationPublisher.accept(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidationPublisher.accept(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    // Called for invalidations received from other nodes, L2 is shared and already up to date
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    // Same text the invalidation message carries, so a received key matches the entry it names
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
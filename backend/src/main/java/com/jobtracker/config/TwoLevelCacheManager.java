@@ -0,0 +1,95 @@
+package com.jobtracker.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CacheManager layering a bounded local Caffeine cache (L1) over the Redis cache manager (L2).
+ * L1 invalidations travel over Redis pub/sub on {@link #CHANNEL}; message format is "nodeId|cacheName|key",
+ * with the key as {@code String.valueOf(key)} and an empty key meaning "clear the whole cache".
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String CHANNEL = "cache:invalidate";
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                StringRedisTemplate stringRedisTemplate,
+                                MeterRegistry meterRegistry,
+                                long localMaxSize,
+                                Duration localTtl) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            if (remote == null) {
+                return null;
+            }
+            return new TwoLevelCache(cacheName,
+                    Caffeine.newBuilder()
+                            .maximumSize(localMaxSize)
+                            // Safety net in case an invalidation message is lost
+                            .expireAfterWrite(localTtl)
+                            .build(),
+                    remote,
+                    this::publishInvalidation,
+                    meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    private void publishInvalidation(String cacheName, Object key) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + "|" + cacheName + "|" + (key == null ? "" : key));
+        } catch (Exception e) {
+            // Other nodes fall back to L1 expiry
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+}
@@ -4,6 +4,7 @@ package com.jobtracker.controller;
 import com.jobtracker.entity.Job;
 import com.jobtracker.entity.Users;
 import com.jobtracker.service.JobService;
+import com.jobtracker.service.TokenRevocationService;
 import com.jobtracker.service.UserService; // Assuming you have a UserService
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import java.util.List;
 public class AdminController {
 
     private final JobService jobService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Get all user data
@@ -35,5 +37,12 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    // Invalidate all current tokens of a user (e.g. after a role change), effective on all nodes
+    @PostMapping("users/revoke-tokens")
+    public ResponseEntity<Void> revokeUserTokens(@RequestParam String email) {
+        tokenRevocationService.revokeUser(email);
+        return ResponseEntity.ok().build();
+    }
+
     // You can add more admin-specific features here, such as deleting users, viewing system logs, etc.
 }
\ No newline at end of file
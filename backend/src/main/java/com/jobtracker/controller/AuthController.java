@@ -4,8 +4,12 @@ import com.jobtracker.config.JwtUtils;
 import com.jobtracker.dto.AuthRequest;
 import com.jobtracker.dto.AuthResponse;
 import com.jobtracker.entity.Users;
+import com.jobtracker.service.TokenRevocationService;
 import com.jobtracker.service.UserService;
 import com.jobtracker.service.impl.UsersDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +19,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,6 +33,8 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
     private final UserService userService;
+    private final JwtParser jwtParser;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/signin")
     public ResponseEntity<AuthResponse> authenticateUser(@RequestBody AuthRequest authRequest) {
@@ -51,6 +58,26 @@ public class AuthController {
         ));
     }
 
+    // Revokes the presented token on all nodes; it is rejected from the next request on
+    @PostMapping("/signout")
+    public ResponseEntity<?> signout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body("Error: No token provided");
+        }
+        try {
+            Claims claims = jwtParser.parseSignedClaims(authHeader.substring(7)).getPayload();
+            if (claims.getId() != null) {
+                tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+            } else {
+                // Token from before jti was issued: revoke by user instead
+                tokenRevocationService.revokeUser(claims.getSubject());
+            }
+        } catch (JwtException e) {
+            // Expired or invalid token: nothing to revoke
+        }
+        return ResponseEntity.ok("Signed out");
+    }
+
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody AuthRequest authRequest) {
         if (userService.existsByEmail(authRequest.getEmail())) {
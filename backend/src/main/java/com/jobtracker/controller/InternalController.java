@@ -1,11 +1,20 @@
 package com.jobtracker.controller;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jobtracker.dto.IntakeReport;
 import com.jobtracker.entity.Job;
+import com.jobtracker.service.JobIntakeService;
 import com.jobtracker.service.JobService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -13,13 +22,26 @@ import java.util.Map;
 @RequestMapping("/api/internal") // All internal interfaces start with /api/internal
 public class InternalController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int FLUSH_EVERY = 500;
+
     private final JobService jobService;
+    private final JobIntakeService jobIntakeService;
+    private final ObjectWriter jobWriter;
 
     @Value("${app.internal-api-key}") // Inject API Key from configuration file
     private String internalApiKey;
 
-    public InternalController(JobService jobService) {
+    @Value("${app.changes.default-limit:500}")
+    private int defaultChangesLimit;
+
+    @Value("${app.changes.max-limit:5000}")
+    private int maxChangesLimit;
+
+    public InternalController(JobService jobService, JobIntakeService jobIntakeService, ObjectMapper objectMapper) {
         this.jobService = jobService;
+        this.jobIntakeService = jobIntakeService;
+        this.jobWriter = objectMapper.writerFor(Job.class);
     }
 
     /**
@@ -30,11 +52,64 @@ public class InternalController {
         if (!isApiKeyValid(apiKey)) {
             return unauthorizedResponse();
         }
-        return ResponseEntity.ok(jobService.getAllPublicJobs());
+        return ResponseEntity.ok(jobService.getAllJobsWithDetails());
+    }
+
+    /**
+     * Internal interface: Stream all jobs as NDJSON (one job per line), used for vector DB re-sync.
+     * Jobs are read from a DB cursor and written as they arrive, so memory use doesn't depend on catalog size.
+     * Usage: GET /api/internal/jobs?format=ndjson
+     */
+    @GetMapping(value = "/jobs", params = "format=ndjson")
+    public void streamJobsForInternalService(@RequestHeader("X-Internal-API-Key") String apiKey,
+                                             HttpServletResponse response) throws IOException {
+        if (!isApiKeyValid(apiKey)) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or missing API Key");
+            return;
+        }
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024);
+        int[] written = {0};
+        jobService.exportAllJobs(job -> {
+            try {
+                out.write(jobWriter.writeValueAsBytes(job));
+                out.write('\n');
+                // Push chunks to the client regularly instead of buffering the whole export
+                if (++written[0] % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    /**
+     * Internal interface: Job changes (create/update/delete) since the given cursor, for incremental
+     * vector DB sync. Each delta is the job's current state ("upsert") or just its id ("delete").
+     * Usage: GET /api/internal/jobs/changes?since=<nextCursor of the previous page>&limit=500
+     */
+    @GetMapping("/jobs/changes")
+    public ResponseEntity<?> getJobChanges(@RequestHeader("X-Internal-API-Key") String apiKey,
+                                           @RequestParam(required = false) String since,
+                                           @RequestParam(required = false) Integer limit) {
+        if (!isApiKeyValid(apiKey)) {
+            return unauthorizedResponse();
+        }
+        int pageSize = limit == null ? defaultChangesLimit : Math.max(1, Math.min(limit, maxChangesLimit));
+        try {
+            return ResponseEntity.ok(jobService.getJobChanges(since, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
-     * Internal interface: Batch receive job data scraped by crawler
+     * Internal interface: Batch receive job data scraped by crawler.
+     * "jobs" holds the newly inserted jobs (with ids), "report" has a per-item result in request order.
      */
     @PostMapping("/jobs/batch-intake")
     public ResponseEntity<?> createJobsFromScraper(
@@ -50,11 +125,12 @@ public class InternalController {
         }
 
         try {
-            List<Job> savedJobs = jobService.createJobsBatch(jobs);
+            IntakeReport report = jobIntakeService.intakeJobs(jobs);
             return ResponseEntity.ok(Map.of(
                 "message", "Successfully batch saved jobs",
-                "count", savedJobs.size(),
-                "jobs", savedJobs
+                "count", report.getInserted(),
+                "jobs", report.getInsertedJobs(),
+                "report", report
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,17 +1,32 @@
 package com.jobtracker.controller;
 
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.dto.HybridSearchResult;
+import com.jobtracker.dto.JobPage;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.dto.Suggestion;
 import com.jobtracker.entity.Job;
 import com.jobtracker.entity.Users;
+import com.jobtracker.service.CatalogVersionService;
 import com.jobtracker.service.JobService;
 import com.jobtracker.service.RecommendationService;
 import com.jobtracker.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.multipart.MultipartFile;
@@ -25,43 +40,149 @@ public class JobController {
     private final JobService jobService;
     private final UserService userService;
     private final RecommendationService recommendationService;
+    private final CatalogVersionService catalogVersionService;
+    private final PrecompressedResponseCache precompressedResponseCache;
 
+    // "gzip" listed in Accept-Encoding and not refused with q=0
+    private static final Pattern ACCEPTS_GZIP = Pattern.compile("(?i)(^|,)\\s*(gzip|\\*)\\s*(,|$|;\\s*q=(0?\\.0*[1-9]|1))");
+
+    @Value("${app.jobs.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.jobs.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.search.suggest.max-results:10}")
+    private int maxSuggestions;
+
+    @Value("${app.search.suggest.max-age:60s}")
+    private Duration suggestMaxAge;
+
+    @Value("${app.favorites.lookup-max-ids:500}")
+    private int maxFavoriteLookupIds;
 
     // Public access interfaces
     @GetMapping
-    public ResponseEntity<List<Job>> getAllJobs(
+    public ResponseEntity<?> getAllJobs(
             @RequestParam(required = false) String query,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest,
             Authentication authentication) { // Inject Authentication for future extension
 
-        List<Job> jobs;
+        List<JobSummary> jobs;
 
         // 1. Routing logic: if there's a search term, use hybrid search, otherwise use normal list
-        if (query != null && !query.trim().isEmpty()) {
-            // Call the searchHybridJobs method we added in the Service interface
-            jobs = jobService.searchHybridJobs(query);
+        if (query == null || query.trim().isEmpty()) {
+            return getCatalog(acceptEncoding, webRequest);
         } else {
-            jobs = jobService.getAllPublicJobs();
+            // Call the searchHybridJobs method we added in the Service interface
+            // company/location/source params narrow the hits (facet counts: GET /api/jobs/search)
+            HybridSearchResult result = jobService.searchHybridJobs(query, facetFilter(webRequest), false);
+            if (result.isPartial()) {
+                // Lexical-only answer (AI leg over budget or unavailable); body shape stays the same
+                return ResponseEntity.ok()
+                        .header("X-Search-Partial", "true")
+                        .header("X-Search-Partial-Reason", result.getPartialReason())
+                        .body(result.getJobs());
+            }
+            jobs = result.getJobs();
         }
-        System.out.println("Deploy Test v1");
 
-        // (Optional optimization) If you want to handle isFavorite in the backend, you can call jobService.attachFavorites(jobs, user) here
-        // But to match your existing frontend logic (frontend sends second request to check favorites), just return jobs directly here
+        // Favorite flags for a whole page come from POST /api/jobs/favorites/lookup (one call, no per-job requests)
 
         return ResponseEntity.ok(jobs);
     }
 
+    /**
+     * Cursor-paginated listing, optionally filtered by company/location/source (each may be repeated:
+     * ?location=Berlin&location=Remote matches either). facets=true adds the counts per value.
+     * Start without cursor, then pass the returned nextCursor to get the next page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<JobPage> getJobsPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean facets,
+            WebRequest webRequest) {
+        // Pages are identified by their URL, so the catalog version alone is a valid validator
+        String etag = catalogEtag(catalogVersionService.current(), "");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // Clamp page size so one request can never pull the whole table
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(jobService.getJobsPage(cursor, pageSize, facetFilter(webRequest), facets));
+    }
+
+    /**
+     * Hybrid search with facets: hits narrowed by company/location/source (repeatable, like /page)
+     * and, unless facets=false, the counts per value over all hits.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<HybridSearchResult> searchJobs(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "true") boolean facets,
+            WebRequest webRequest) {
+        return ResponseEntity.ok(jobService.searchHybridJobs(query, facetFilter(webRequest), facets));
+    }
+
+    /**
+     * Search-as-you-type: completions for the typed prefix from the in-memory suggest index,
+     * never touching the database or the AI service. Short browser caching absorbs repeated keystrokes.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        int count = limit == null ? maxSuggestions : Math.max(1, Math.min(limit, maxSuggestions));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(suggestMaxAge).cachePublic())
+                .body(jobService.suggest(prefix, count));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Job> getJobById(@PathVariable Long id) {
-        return ResponseEntity.ok(jobService.getJobById(id));
+    public ResponseEntity<Job> getJobById(@PathVariable Long id, WebRequest webRequest) {
+        // Version read before loading, so the body is never older than its ETag. Loading (served from
+        // the "jobs" cache) comes before the 304 check, so a deleted job is never answered Not Modified.
+        long version = catalogVersionService.current();
+        Job job = jobService.getJobById(id);
+        String etag = catalogEtag(version, "-j" + id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(job);
     }
 
     // Authentication required interfaces - user favorites
     @GetMapping("/favorites")
-    public ResponseEntity<List<Job>> getUserFavorites(Authentication authentication) {
+    public ResponseEntity<List<JobSummary>> getUserFavorites(Authentication authentication) {
         Users user = userService.getUserFromAuthentication(authentication);
         return ResponseEntity.ok(jobService.getUserFavorites(user));
     }
 
+    // All favorited job ids of the current user
+    @GetMapping("/favorites/ids")
+    public ResponseEntity<List<Long>> getFavoriteJobIds(Authentication authentication) {
+        Users user = userService.getUserFromAuthentication(authentication);
+        return ResponseEntity.ok(jobService.getFavoriteJobIds(user));
+    }
+
+    // Bulk "is favorited": body is a list of job ids, answer maps each id to true/false
+    @PostMapping("/favorites/lookup")
+    public ResponseEntity<?> lookupFavorites(@RequestBody List<Long> jobIds, Authentication authentication) {
+        if (jobIds.size() > maxFavoriteLookupIds) {
+            return ResponseEntity.badRequest().body("At most " + maxFavoriteLookupIds + " job ids per lookup");
+        }
+        Users user = userService.getUserFromAuthentication(authentication);
+        return ResponseEntity.ok(jobService.getFavoriteFlags(user, jobIds));
+    }
+
     @PostMapping("/{jobId}/favorite")
     public ResponseEntity<Void> addToFavorites(
             @PathVariable Long jobId,
@@ -84,6 +205,61 @@ public class JobController {
 
 
 
+    /**
+     * Full job list as pre-serialized bytes, gzip-encoded when the client accepts it.
+     * A matching If-None-Match is answered with 304 from the in-memory catalog version alone.
+     * Deprecated: the web frontend pages through GET /api/jobs/page. Kept for existing API clients
+     * (one cached body per catalog version, so it costs no query per request); responses point to the successor.
+     */
+    private ResponseEntity<byte[]> getCatalog(String acceptEncoding, WebRequest webRequest) {
+        // Read the version before loading, so the body is never older than its ETag
+        long version = catalogVersionService.current();
+        boolean gzip = acceptEncoding != null && ACCEPTS_GZIP.matcher(acceptEncoding).find();
+        // Each encoding is its own representation and gets its own strong ETag
+        String etag = catalogEtag(version, gzip ? "-gz" : "");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        PrecompressedResponseCache.Body body = precompressedResponseCache.get("all", version, jobService::getAllPublicJobs);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/jobs/page>; rel=\"successor-version\"");
+        return gzip
+                ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip())
+                : response.body(body.json());
+    }
+
+    private static String catalogEtag(long version, String suffix) {
+        return "\"c" + version + suffix + "\"";
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // Raw repeated parameters: @RequestParam List<String> would split "Berlin, Germany" on the comma
+    private static FacetFilter facetFilter(WebRequest webRequest) {
+        return new FacetFilter(paramValues(webRequest, "company"),
+                paramValues(webRequest, "location"),
+                paramValues(webRequest, "source"));
+    }
+
+    private static List<String> paramValues(WebRequest webRequest, String name) {
+        String[] values = webRequest.getParameterValues(name);
+        if (values == null) {
+            return List.of();
+        }
+        return Arrays.stream(values)
+                .map(JobController::blankToNull)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
     // New file upload interface
     @PostMapping("/recommend-file")
     public ResponseEntity<?> getRecommendationsFromFile(
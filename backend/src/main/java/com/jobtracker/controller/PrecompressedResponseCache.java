@@ -0,0 +1,92 @@
+package com.jobtracker.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.event.JobChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized and gzip-compressed bodies of hot, catalog-versioned responses (the full job list),
+ * so repeated requests skip both JSON serialization and compression.
+ * Entries are keyed by name + catalog version and bounded by total bytes.
+ */
+@Component
+public class PrecompressedResponseCache {
+
+    /** JSON body and its gzip encoding, built from the same value. */
+    public record Body(byte[] json, byte[] gzip) {
+        int weight() {
+            return json.length + gzip.length;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Body> bodies;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrecompressedResponseCache(ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.http.precompressed.max-bytes:33554432}") long maxBytes,
+                                      @Value("${app.http.precompressed.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, Body>weigher((key, body) -> body.weight())
+                .expireAfterWrite(ttl)
+                .build();
+        this.hits = Counter.builder("http.precompressed.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("http.precompressed.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Body for this name at the given catalog version; the value is loaded and encoded once per version.
+     * The caller must read the version before loading, so the body is never newer than its version.
+     */
+    public Body get(String name, long catalogVersion, Supplier<?> value) {
+        String key = name + ":v" + catalogVersion;
+        Body cached = bodies.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        return bodies.get(key, k -> {
+            misses.increment();
+            return encode(value.get());
+        });
+    }
+
+    private Body encode(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8192)) {
+                gzip.write(json);
+            }
+            return new Body(json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response body", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Old versions are unreachable anyway, this just frees the memory early
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        bodies.invalidateAll();
+    }
+}
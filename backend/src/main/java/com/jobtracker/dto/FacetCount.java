@@ -0,0 +1,16 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of matching jobs with one facet value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCount {
+    private String value;
+    private int count;
+}
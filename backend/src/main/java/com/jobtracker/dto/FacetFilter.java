@@ -0,0 +1,47 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Selected facet values: a job matches when, for every facet with a selection,
+ * its value is one of the selected ones (OR within a facet, AND across facets).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetFilter {
+    private List<String> company = List.of();
+    private List<String> location = List.of();
+    private List<String> source = List.of();
+
+    public boolean isEmpty() {
+        return company.isEmpty() && location.isEmpty() && source.isEmpty();
+    }
+
+    /**
+     * Canonical form for cache keys: values sorted per facet and length-prefixed, so the order
+     * of request parameters doesn't matter and no value can run into the next one.
+     */
+    public String cacheKey() {
+        return "c" + canonical(company) + "|l" + canonical(location) + "|s" + canonical(source);
+    }
+
+    private static String canonical(List<String> values) {
+        return values.stream()
+                .sorted()
+                .distinct()
+                .map(value -> value.length() + ":" + value)
+                .collect(Collectors.joining(","));
+    }
+
+    public boolean matches(JobSummary job) {
+        return (company.isEmpty() || company.contains(job.getCompany()))
+                && (location.isEmpty() || location.contains(job.getLocation()))
+                && (source.isEmpty() || source.contains(job.getSource()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * All job ids a user has favorited, sorted ascending. Cached per user ("favoriteIds" cache).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FavoriteIds {
+    private long[] jobIds = new long[0];
+
+    public static FavoriteIds of(long[] jobIds) {
+        long[] sorted = jobIds.clone();
+        Arrays.sort(sorted);
+        return new FavoriteIds(sorted);
+    }
+
+    public boolean contains(long jobId) {
+        return Arrays.binarySearch(jobIds, jobId) >= 0;
+    }
+}
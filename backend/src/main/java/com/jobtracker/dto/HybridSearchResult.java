@@ -0,0 +1,32 @@
+package com.jobtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a hybrid search. partial = the AI retriever did not contribute
+ * (latency budget exceeded, breaker open, AI error or executor saturated), jobs are lexical hits only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HybridSearchResult {
+    private List<JobSummary> jobs;
+    private boolean partial;
+    private String partialReason;  // null when complete
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<FacetCount>> facets;  // counts over the unfiltered hits, only when requested
+
+    public static HybridSearchResult complete(List<JobSummary> jobs) {
+        return new HybridSearchResult(jobs, false, null, null);
+    }
+
+    public static HybridSearchResult partial(List<JobSummary> jobs, String reason) {
+        return new HybridSearchResult(jobs, true, reason, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.jobtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jobtracker.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class IntakeReport {
+    private int received;
+    private int inserted;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private List<IntakeResult> results;
+
+    @JsonIgnore
+    private List<Job> insertedJobs; // Saved entities with generated ids
+}
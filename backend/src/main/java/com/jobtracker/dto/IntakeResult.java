@@ -0,0 +1,22 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one submitted job in a bulk intake, in request order.
+ */
+@Data
+@AllArgsConstructor
+public class IntakeResult {
+
+    public enum Status {
+        INSERTED, DUPLICATE, INVALID, FAILED
+    }
+
+    private int index;
+    private String url;
+    private Status status;
+    private Long jobId;     // Only set for INSERTED
+    private String message; // Reason for non-inserted items
+}
@@ -0,0 +1,20 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the job change feed. Pass nextCursor back as ?since= to continue;
+ * it is returned on every page (also an empty one) and stays valid indefinitely.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobChangePage {
+    private List<JobDelta> changes;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,32 @@
+package com.jobtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest state of one changed job in the change feed: "upsert" with the current fields,
+ * or "delete" with the id only. Several changes of a job within one page collapse into one delta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobDelta {
+    public static final String UPSERT = "upsert";
+    public static final String DELETE = "delete";
+
+    private String op;
+    private Long id;
+    private String title;
+    private String company;
+    private String location;
+    private String url;
+    private String source;
+    private String description;
+
+    public static JobDelta deleted(Long id) {
+        return new JobDelta(DELETE, id, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.jobtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of the keyset-paginated job listing.
+ * Pass nextCursor back as ?cursor= to get the following page.
+ * facets (only when requested) counts the whole filtered catalog, not just this page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobPage {
+    private List<JobSummary> items;
+    private Long nextCursor;  // null on the last page
+    private boolean hasMore;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<FacetCount>> facets;
+}
@@ -0,0 +1,32 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * List/search view of a job: everything except the full description, which is only
+ * returned by GET /api/jobs/{id}. Listings carry the first SNIPPET_LENGTH characters
+ * of it as snippet. Built directly by JPQL constructor expressions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSummary {
+
+    // Characters of the description shown on job cards
+    public static final int SNIPPET_LENGTH = 200;
+
+    private Long id;
+    private String title;
+    private String company;
+    private String location;
+    private String url;
+    private String source;
+    private String snippet;
+
+    // Without snippet, for reads that never show the description (index rebuilds)
+    public JobSummary(Long id, String title, String company, String location, String url, String source) {
+        this(id, title, company, location, url, source, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One typeahead completion: a job title, company or location, with the number of jobs using it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private String text;
+    private String type;
+    private int jobCount;
+}
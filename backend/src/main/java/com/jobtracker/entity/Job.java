@@ -14,6 +14,11 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})  // Ignore lazy loading related properties
 @Table(uniqueConstraints = {
     @UniqueConstraint(columnNames = {"url"})
+}, indexes = {
+    // Support keyset pagination (id > cursor ORDER BY id) combined with filters
+    @Index(name = "idx_job_company_id", columnList = "company, id"),
+    @Index(name = "idx_job_location_id", columnList = "location, id"),
+    @Index(name = "idx_job_source_id", columnList = "source, id")
 })
 public class Job {
     @Id
@@ -0,0 +1,35 @@
+package com.jobtracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for the job change feed, written in the same transaction as the job write
+ * (see JobChangeOutbox). Rows are inserted with JDBC; the table is created by schema-changes.sql
+ * and the entity only describes it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "job_change", indexes = {
+    // Feed order: (txid, id), see JobChangeRepository
+    @Index(name = "idx_job_change_txid_id", columnList = "txid, id"),
+    // Retention cleanup, see JobChangeRetention
+    @Index(name = "idx_job_change_changed_at", columnList = "changed_at")
+})
+public class JobChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // Id of the writing transaction (pg_current_xact_id)
+    @Column(nullable = false)
+    private Long txid;
+    @Column(nullable = false)
+    private Long jobId;
+    @Column(nullable = false, length = 16)
+    private String changeType;
+    private LocalDateTime changedAt;
+}
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "user_favorite")
+@Table(name = "user_favorite", uniqueConstraints = {
+    // Makes add-to-favorites an idempotent upsert (ON CONFLICT)
+    @UniqueConstraint(name = "unique_user_job", columnNames = {"user_id", "job_id"})
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})  // Ignore lazy loading related properties
 public class UserFavorite {
     @Id
@@ -0,0 +1,7 @@
+package com.jobtracker.event;
+
+/**
+ * Published inside the transaction that added or removed favorites of a user.
+ */
+public record FavoritesChangedEvent(Long userId) {
+}
@@ -0,0 +1,29 @@
+package com.jobtracker.event;
+
+import com.jobtracker.entity.Job;
+
+import java.util.List;
+
+/**
+ * Published by JobService write methods inside their transaction.
+ * Listeners that maintain derived state (search index, caches...) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public record JobChangedEvent(ChangeType type, List<Job> jobs) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static JobChangedEvent created(List<Job> jobs) {
+        return new JobChangedEvent(ChangeType.CREATED, jobs);
+    }
+
+    public static JobChangedEvent updated(Job job) {
+        return new JobChangedEvent(ChangeType.UPDATED, List.of(job));
+    }
+
+    public static JobChangedEvent deleted(Job job) {
+        return new JobChangedEvent(ChangeType.DELETED, List.of(job));
+    }
+}
@@ -0,0 +1,101 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.entity.Job;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Set-based JDBC access for bulk job intake. Job uses IDENTITY ids, which disables
+ * Hibernate insert batching, so bulk writes bypass JPA here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobBulkRepository {
+
+    // One array parameter per column: the statement text is the same for every chunk size,
+    // and Postgres parses 6 parameters instead of 6 per row
+    private static final String INSERT_SQL =
+            "INSERT INTO job (title, company, location, url, source, description) " +
+            "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::text[]) " +
+            "ON CONFLICT (url) DO NOTHING RETURNING id, url";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Return the subset of the given URLs that already exist, in one "url IN (...)" query.
+     * Callers should keep the collection to a bounded chunk size.
+     */
+    public Set<String> findExistingUrls(Collection<String> urls) {
+        if (urls.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT url FROM job WHERE url IN (:urls)", Map.of("urls", urls), String.class));
+    }
+
+    /**
+     * Insert all jobs with a single statement, skipping URLs that already exist.
+     * @return URL -> generated id, for the rows that were actually inserted
+     */
+    public Map<String, Long> insertIgnoringDuplicates(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return Map.of();
+        }
+        int size = jobs.size();
+        String[] titles = new String[size];
+        String[] companies = new String[size];
+        String[] locations = new String[size];
+        String[] urls = new String[size];
+        String[] sources = new String[size];
+        String[] descriptions = new String[size];
+        for (int i = 0; i < size; i++) {
+            Job job = jobs.get(i);
+            titles[i] = job.getTitle();
+            companies[i] = job.getCompany();
+            locations[i] = job.getLocation();
+            urls[i] = job.getUrl();
+            sources[i] = job.getSource();
+            descriptions[i] = job.getDescription();
+        }
+
+        Map<String, Long> inserted = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", titles));
+            statement.setArray(2, connection.createArrayOf("varchar", companies));
+            statement.setArray(3, connection.createArrayOf("varchar", locations));
+            statement.setArray(4, connection.createArrayOf("varchar", urls));
+            statement.setArray(5, connection.createArrayOf("varchar", sources));
+            statement.setArray(6, connection.createArrayOf("text", descriptions));
+            return statement;
+        }, rs -> {
+            inserted.put(rs.getString("url"), rs.getLong("id"));
+        });
+        return inserted;
+    }
+
+    /**
+     * Visit every stored URL. Must run inside a transaction for the fetch size to take effect.
+     */
+    public void forEachUrl(int fetchSize, Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT url FROM job WHERE url IS NOT NULL");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getString(1));
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.JobDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the job_change outbox.
+ *
+ * The feed is ordered by (txid, id) and only serves rows of transactions older than the oldest
+ * transaction still running (pg_snapshot_xmin). Any row committed later has a txid at or above
+ * that horizon, so it sorts after everything already served and a cursor can never skip it,
+ * which ordering by id alone can't guarantee with concurrent writers.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobChangeRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO job_change (txid, job_id, change_type, changed_at) " +
+            "SELECT pg_current_xact_id()::text::bigint, job_id, ?, now() FROM unnest(?::bigint[]) AS job_id";
+
+    private static final String FEED_SQL =
+            "SELECT c.txid, c.id, c.job_id, j.id AS live_id, j.title, j.company, j.location, j.url, j.source, j.description " +
+            "FROM job_change c LEFT JOIN job j ON j.id = c.job_id " +
+            "WHERE (c.txid, c.id) > (?, ?) " +
+            "AND c.txid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint " +
+            "ORDER BY c.txid, c.id LIMIT ?";
+
+    // Oldest rows first through idx_job_change_changed_at; the cutoff uses the database clock like changed_at
+    private static final String PURGE_SQL =
+            "DELETE FROM job_change WHERE id IN (" +
+            "SELECT id FROM job_change WHERE changed_at < now() - make_interval(secs => ?) ORDER BY changed_at LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** One change row per job, in the caller's transaction. */
+    public void append(String changeType, Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        Long[] ids = jobIds.toArray(new Long[0]);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+            statement.setString(1, changeType);
+            statement.setArray(2, connection.createArrayOf("bigint", ids));
+            return statement;
+        });
+    }
+
+    /** A change row with the job's current state; job fields are null when the job no longer exists. */
+    public record Row(long txid, long id, long jobId, JobDelta current) {
+    }
+
+    public List<Row> findAfter(long txid, long id, int limit) {
+        List<Row> rows = new ArrayList<>();
+        jdbcTemplate.query(FEED_SQL, rs -> {
+            long jobId = rs.getLong("job_id");
+            rs.getLong("live_id");
+            JobDelta current = rs.wasNull() ? JobDelta.deleted(jobId) : new JobDelta(JobDelta.UPSERT, jobId,
+                    rs.getString("title"), rs.getString("company"), rs.getString("location"),
+                    rs.getString("url"), rs.getString("source"), rs.getString("description"));
+            rows.add(new Row(rs.getLong("txid"), rs.getLong("id"), jobId, current));
+        }, txid, id, limit);
+        return rows;
+    }
+
+    /** Delete up to limit change rows older than the given age, each call in its own short statement. */
+    public int deleteOlderThan(Duration age, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, age.toSeconds(), limit);
+    }
+}
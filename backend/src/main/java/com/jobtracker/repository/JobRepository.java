@@ -1,20 +1,64 @@
 package com.jobtracker.repository;
+import com.jobtracker.dto.JobSummary;
 import com.jobtracker.entity.Job;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobSummaryRepository {
 
     // Find duplicate jobs (based on URL)
     Optional<Job> findByUrl(String url);
-    @Query("SELECT j.id FROM Job j WHERE LOWER(j.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(j.company) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Long> findIdsByTitleLike(@Param("query") String query);
+
+    // Postgres full-text search (schema-search.sql): weighted tsvector match (GIN) or trigram-similar
+    // title/company for typos, ordered by ts_rank plus similarity
+    @Query(value = """
+            SELECT j.id FROM job j, websearch_to_tsquery('english', :query) q
+            WHERE j.search_vector @@ q
+               OR lower(j.title) % lower(:query)
+               OR lower(j.company) % lower(:query)
+            ORDER BY ts_rank(j.search_vector, q)
+                     + greatest(similarity(lower(j.title), lower(:query)), similarity(lower(j.company), lower(:query))) DESC,
+                     j.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> searchIdsFullText(@Param("query") String query, @Param("limit") int limit);
+
+    // Summary projections for listings: only the head of the description is selected
+    @Query("SELECT new com.jobtracker.dto.JobSummary(j.id, j.title, j.company, j.location, j.url, j.source, "
+            + "SUBSTRING(j.description, 1, " + JobSummary.SNIPPET_LENGTH + ")) FROM Job j ORDER BY j.id")
+    List<JobSummary> findAllSummaries();
+
+    @Query("SELECT new com.jobtracker.dto.JobSummary(j.id, j.title, j.company, j.location, j.url, j.source, "
+            + "SUBSTRING(j.description, 1, " + JobSummary.SNIPPET_LENGTH + ")) FROM Job j WHERE j.id IN :ids")
+    List<JobSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset batch read, used to walk the whole table without offset paging
+    List<Job> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Keyset batch read of summaries only, for indexes that don't need the description
+    @Query("SELECT new com.jobtracker.dto.JobSummary(j.id, j.title, j.company, j.location, j.url, j.source) FROM Job j WHERE j.id > :id ORDER BY j.id")
+    List<JobSummary> findSummariesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // Forward-only cursor over the whole table for streaming exports, must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT j FROM Job j ORDER BY j.id")
+    Stream<Job> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.entity.Job;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria used by the job listing and the SQL search fallback.
+ */
+public final class JobSpecifications {
+
+    private JobSpecifications() {
+    }
+
+    /**
+     * Keyset page filter: id > cursor plus the facet selection (IN per facet); null cursor and
+     * empty selections are ignored.
+     */
+    public static Specification<Job> page(Long cursor, FacetFilter filter) {
+        return (root, cq, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (cursor != null) {
+                predicates.add(cb.greaterThan(root.get("id"), cursor));
+            }
+            addIn(predicates, root, cb, "company", filter.getCompany());
+            addIn(predicates, root, cb, "location", filter.getLocation());
+            addIn(predicates, root, cb, "source", filter.getSource());
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static void addIn(List<Predicate> predicates, Root<Job> root, CriteriaBuilder cb,
+                              String field, List<String> values) {
+        if (values.size() == 1) {
+            predicates.add(cb.equal(root.get(field), values.get(0)));
+        } else if (!values.isEmpty()) {
+            predicates.add(root.get(field).in(values));
+        }
+    }
+
+    /**
+     * Case-insensitive substring match on title, company or location.
+     */
+    public static Specification<Job> keyword(String query) {
+        return (root, cq, cb) -> {
+            String searchTerm = "%" + query.toLowerCase().trim() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), searchTerm),
+                    cb.like(cb.lower(root.get("company")), searchTerm),
+                    cb.like(cb.lower(root.get("location")), searchTerm)
+            );
+        };
+    }
+}
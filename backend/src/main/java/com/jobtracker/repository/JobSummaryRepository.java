@@ -0,0 +1,19 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.entity.Job;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Summary (no description) reads for criteria built from {@link JobSpecifications}.
+ */
+public interface JobSummaryRepository {
+
+    /**
+     * Summaries matching the specification ordered by id.
+     * @param limit max rows, or a negative value for no limit
+     */
+    List<JobSummary> findSummaries(Specification<Job> spec, int limit);
+}
@@ -0,0 +1,43 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.entity.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Criteria query with a constructor selection: only the summary columns (and the description head) are fetched
+@RequiredArgsConstructor
+class JobSummaryRepositoryImpl implements JobSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<JobSummary> findSummaries(Specification<Job> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JobSummary> cq = cb.createQuery(JobSummary.class);
+        Root<Job> root = cq.from(Job.class);
+        cq.select(cb.construct(JobSummary.class,
+                root.get("id"), root.get("title"), root.get("company"),
+                root.get("location"), root.get("url"), root.get("source"),
+                cb.substring(root.get("description"), 1, JobSummary.SNIPPET_LENGTH)));
+        Predicate predicate = spec.toPredicate(root, cq, cb);
+        if (predicate != null) {
+            cq.where(predicate);
+        }
+        cq.orderBy(cb.asc(root.get("id")));
+
+        TypedQuery<JobSummary> query = entityManager.createQuery(cq);
+        if (limit >= 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+}
@@ -1,4 +1,5 @@
  package com.jobtracker.repository;
+import com.jobtracker.dto.JobSummary;
 import com.jobtracker.entity.UserFavorite;
 import com.jobtracker.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -16,9 +17,37 @@ public interface UserFavoriteRepository extends JpaRepository<UserFavorite, Long
     @Query("SELECT uf FROM UserFavorite uf JOIN FETCH uf.job WHERE uf.user = :user")
     List<UserFavorite> findByUserWithJob(Users user);
     
+    // Favorited jobs as summaries, without loading UserFavorite or Job entities
+    @Query("SELECT new com.jobtracker.dto.JobSummary(j.id, j.title, j.company, j.location, j.url, j.source, "
+            + "SUBSTRING(j.description, 1, " + JobSummary.SNIPPET_LENGTH + ")) FROM UserFavorite uf JOIN uf.job j WHERE uf.user.id = :userId")
+    List<JobSummary> findJobSummariesByUserId(Long userId);
+
     boolean existsByUserAndJob(Users user, com.jobtracker.entity.Job job);
     
     @Modifying
     @Query("DELETE FROM UserFavorite uf WHERE uf.user = :user AND uf.job = :job")
     void deleteByUserAndJob(Users user, com.jobtracker.entity.Job job);
-}
\ No newline at end of file
+
+    @Query("SELECT uf.job.id FROM UserFavorite uf WHERE uf.user.id = :userId")
+    List<Long> findJobIdsByUserId(Long userId);
+
+    // [jobId, favorite count] for every favorited job
+    @Query("SELECT uf.job.id, COUNT(uf) FROM UserFavorite uf GROUP BY uf.job.id")
+    List<Object[]> countFavoritesPerJob();
+
+    /**
+     * Idempotent add in one statement, relies on the unique (user_id, job_id) constraint.
+     * Re-adding keeps the original timestamp and only replaces notes when new ones are given.
+     * @return 0 if the job doesn't exist, 1 otherwise
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_favorite (user_id, job_id, favorited_at, notes) " +
+            "SELECT :userId, j.id, now(), :notes FROM job j WHERE j.id = :jobId " +
+            "ON CONFLICT (user_id, job_id) DO UPDATE SET notes = COALESCE(EXCLUDED.notes, user_favorite.notes)",
+            nativeQuery = true)
+    int upsert(Long userId, Long jobId, String notes);
+
+    @Modifying
+    @Query("DELETE FROM UserFavorite uf WHERE uf.user.id = :userId AND uf.job.id = :jobId")
+    int deleteByUserIdAndJobId(Long userId, Long jobId);
+}
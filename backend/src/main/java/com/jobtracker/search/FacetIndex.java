@@ -0,0 +1,419 @@
+package com.jobtracker.search;
+
+import com.jobtracker.dto.FacetCount;
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet filters and counts over company, location and source: one compressed bitmap of job
+ * ordinals per facet value. A filter is the AND across facets of the OR of each facet's selected
+ * values, and a value's count is the cardinality of its bitmap intersected with that.
+ * Counts are multi-select: a facet's own selection is left out when counting its values, so the
+ * alternatives stay visible. Rebuilt from JobRepository at startup and every refresh interval, and kept
+ * up to date through JobChangedEvent in between.
+ */
+@Slf4j
+@Component
+public class FacetIndex {
+
+    public enum Facet {
+        COMPANY, LOCATION, SOURCE;
+
+        // Name in requests and responses
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Facet[] FACETS = Facet.values();
+
+    // Until the first build succeeds it is retried with doubling delays, capped at the refresh interval
+    private static final long FIRST_RETRY_DELAY_MS = 5_000;
+
+    private final JobRepository jobRepository;
+    private final int maxValues;
+    private final Duration refreshInterval;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private IndexData data = new IndexData();
+    // Non-null while a rebuild is running: changes to replay on the fresh index before swapping it in
+    private List<JobChangedEvent> pendingChanges;
+
+    private volatile boolean ready = false;
+    private ScheduledExecutorService refresher;
+
+    public FacetIndex(JobRepository jobRepository,
+                      @Value("${app.search.facets.max-values:20}") int maxValues,
+                      @Value("${app.search.facets.refresh-interval:15m}") Duration refreshInterval,
+                      @Value("${app.search.index.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.jobRepository = jobRepository;
+        this.maxValues = maxValues;
+        this.refreshInterval = refreshInterval;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        // Don't block startup, listings and searches come without facets until the index is ready
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "facet-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(() -> rebuildUntilReady(FIRST_RETRY_DELAY_MS));
+        // Also drops values no job has any more and the ordinals of deleted jobs
+        refresher.scheduleWithFixedDelay(this::rebuild, refreshInterval.toMillis(), refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void rebuildUntilReady(long retryDelayMs) {
+        if (rebuild() || ready) {
+            return;
+        }
+        log.warn("Facet index not ready, retrying the rebuild in {}ms", retryDelayMs);
+        refresher.schedule(() -> rebuildUntilReady(Math.min(retryDelayMs * 2, refreshInterval.toMillis())),
+                retryDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the database, reading job summaries in keyset-ordered batches.
+     * @return true if the fresh index was swapped in, false if the build failed or another one was running
+     */
+    public boolean rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                log.warn("Facet index rebuild already running, skipping");
+                return false;
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        IndexData fresh = new IndexData();
+        try {
+            long lastId = 0;
+            while (true) {
+                List<JobSummary> batch = jobRepository.findSummariesByIdGreaterThan(lastId, Limit.of(rebuildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (JobSummary job : batch) {
+                    fresh.add(job.getId(), job.getCompany(), job.getLocation(), job.getSource());
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            fresh.optimize();
+        } catch (Exception e) {
+            log.error("Facet index rebuild failed", e);
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (JobChangedEvent event : pendingChanges) {
+                fresh.apply(event);
+            }
+            data = fresh;
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Facet index rebuilt: {} jobs, {} values in {}ms", fresh.live.getCardinality(),
+                Arrays.stream(fresh.facets).mapToInt(values -> values.values.size()).sum(),
+                System.currentTimeMillis() - start);
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            data.apply(event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Facet counts of the jobs matching the filter.
+     * @param jobIds jobs to count within (e.g. search hits), null for the whole catalog
+     * @return per facet key, the values with the most matches (count descending, at most
+     *         app.search.facets.max-values), plus every selected value even if it has no match
+     */
+    public Map<String, List<FacetCount>> counts(Collection<Long> jobIds, FacetFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = jobIds == null ? data.live : data.ordinalsOf(jobIds);
+            return data.counts(base, filter, maxValues);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<String> selected(FacetFilter filter, Facet facet) {
+        return switch (facet) {
+            case COMPANY -> filter.getCompany();
+            case LOCATION -> filter.getLocation();
+            case SOURCE -> filter.getSource();
+        };
+    }
+
+    /**
+     * Distinct values of one facet, each with the bitmap of ordinals having it. Value ids are never
+     * reused; a value whose jobs are all gone keeps an empty bitmap until the next periodic rebuild.
+     */
+    private static final class FacetValues {
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+        final List<RoaringBitmap> bitmaps = new ArrayList<>();
+        // Value id per ordinal, -1 for none
+        int[] ordinalValue = new int[0];
+
+        void ensureCapacity(int ordinals) {
+            if (ordinalValue.length < ordinals) {
+                int previous = ordinalValue.length;
+                ordinalValue = Arrays.copyOf(ordinalValue, Math.max(ordinals, Math.max(1024, previous * 2)));
+                Arrays.fill(ordinalValue, previous, ordinalValue.length, -1);
+            }
+        }
+
+        void set(int ordinal, String value) {
+            clear(ordinal);
+            if (value == null) {
+                return;
+            }
+            int id = ids.computeIfAbsent(value, v -> {
+                values.add(v);
+                bitmaps.add(new RoaringBitmap());
+                return values.size() - 1;
+            });
+            bitmaps.get(id).add(ordinal);
+            ordinalValue[ordinal] = id;
+        }
+
+        void clear(int ordinal) {
+            int id = ordinalValue[ordinal];
+            if (id >= 0) {
+                bitmaps.get(id).remove(ordinal);
+                ordinalValue[ordinal] = -1;
+            }
+        }
+
+        // Jobs having any of the values; unknown values match nothing
+        RoaringBitmap union(List<String> selected) {
+            List<RoaringBitmap> parts = new ArrayList<>(selected.size());
+            for (String value : selected) {
+                Integer id = ids.get(value);
+                if (id != null) {
+                    parts.add(bitmaps.get(id));
+                }
+            }
+            return parts.isEmpty() ? new RoaringBitmap() : FastAggregation.or(parts.toArray(new RoaringBitmap[0]));
+        }
+    }
+
+    private static final class IndexData {
+        final Map<Long, Integer> idToOrdinal = new HashMap<>();
+        final RoaringBitmap live = new RoaringBitmap();
+        final FacetValues[] facets = new FacetValues[FACETS.length];
+        int nextOrdinal;
+
+        IndexData() {
+            for (int i = 0; i < facets.length; i++) {
+                facets[i] = new FacetValues();
+            }
+        }
+
+        // Insert or update; an updated job keeps its ordinal and only moves between value bitmaps
+        void add(long id, String company, String location, String source) {
+            Integer ordinal = idToOrdinal.get(id);
+            if (ordinal == null) {
+                ordinal = nextOrdinal++;
+                for (FacetValues values : facets) {
+                    values.ensureCapacity(nextOrdinal);
+                }
+                idToOrdinal.put(id, ordinal);
+                live.add(ordinal);
+            }
+            facets[Facet.COMPANY.ordinal()].set(ordinal, company);
+            facets[Facet.LOCATION.ordinal()].set(ordinal, location);
+            facets[Facet.SOURCE.ordinal()].set(ordinal, source);
+        }
+
+        void remove(long id) {
+            Integer ordinal = idToOrdinal.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            live.remove(ordinal);
+            for (FacetValues values : facets) {
+                values.clear(ordinal);
+            }
+        }
+
+        void apply(JobChangedEvent event) {
+            for (Job job : event.jobs()) {
+                if (job.getId() == null) {
+                    continue;
+                }
+                if (event.type() == JobChangedEvent.ChangeType.DELETED) {
+                    remove(job.getId());
+                } else {
+                    add(job.getId(), job.getCompany(), job.getLocation(), job.getSource());
+                }
+            }
+        }
+
+        // Switch dense bitmaps to run containers where that's smaller, after a bulk build
+        void optimize() {
+            live.runOptimize();
+            for (FacetValues values : facets) {
+                values.bitmaps.forEach(RoaringBitmap::runOptimize);
+            }
+        }
+
+        RoaringBitmap ordinalsOf(Collection<Long> jobIds) {
+            RoaringBitmap ordinals = new RoaringBitmap();
+            for (Long id : jobIds) {
+                Integer ordinal = idToOrdinal.get(id);
+                if (ordinal != null) {
+                    ordinals.add(ordinal);
+                }
+            }
+            return ordinals;
+        }
+
+        Map<String, List<FacetCount>> counts(RoaringBitmap base, FacetFilter filter, int maxValues) {
+            RoaringBitmap[] selections = new RoaringBitmap[FACETS.length];
+            for (Facet facet : FACETS) {
+                List<String> selected = selected(filter, facet);
+                if (!selected.isEmpty()) {
+                    selections[facet.ordinal()] = facets[facet.ordinal()].union(selected);
+                }
+            }
+
+            Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+            for (Facet facet : FACETS) {
+                // Scope of this facet's counts: the base restricted by every other facet's selection
+                RoaringBitmap scope = base;
+                for (Facet other : FACETS) {
+                    if (other != facet && selections[other.ordinal()] != null) {
+                        scope = RoaringBitmap.and(scope, selections[other.ordinal()]);
+                    }
+                }
+                result.put(facet.key(), top(facets[facet.ordinal()], scope, scope == live,
+                        selected(filter, facet), maxValues));
+            }
+            return result;
+        }
+
+        private static List<FacetCount> top(FacetValues values, RoaringBitmap scope, boolean wholeCatalog,
+                                            List<String> selected, int maxValues) {
+            int[] counts = new int[values.values.size()];
+            if (wholeCatalog) {
+                // Unfiltered: every value bitmap only holds live jobs, its cardinality is the count
+                for (int id = 0; id < counts.length; id++) {
+                    counts[id] = values.bitmaps.get(id).getCardinality();
+                }
+            } else if (scope.getCardinality() < counts.length) {
+                // Small scope: one lookup per job beats one intersection per value
+                IntIterator ordinals = scope.getIntIterator();
+                while (ordinals.hasNext()) {
+                    int id = values.ordinalValue[ordinals.next()];
+                    if (id >= 0) {
+                        counts[id]++;
+                    }
+                }
+            } else {
+                for (int id = 0; id < counts.length; id++) {
+                    counts[id] = RoaringBitmap.andCardinality(scope, values.bitmaps.get(id));
+                }
+            }
+
+            // Bounded min-heap, root is the weakest of the current top values
+            Comparator<Integer> weakestFirst = Comparator.<Integer>comparingInt(id -> counts[id])
+                    .thenComparing(id -> values.values.get(id), Comparator.reverseOrder());
+            PriorityQueue<Integer> heap = new PriorityQueue<>(maxValues + 1, weakestFirst);
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] == 0) {
+                    continue;
+                }
+                heap.add(id);
+                if (heap.size() > maxValues) {
+                    heap.poll();
+                }
+            }
+            List<Integer> best = new ArrayList<>(heap);
+            best.sort(weakestFirst.reversed());
+
+            List<FacetCount> result = new ArrayList<>(best.size() + selected.size());
+            for (int id : best) {
+                result.add(new FacetCount(values.values.get(id), counts[id]));
+            }
+            for (String value : selected) {
+                Integer id = values.ids.get(value);
+                if (id == null || !best.contains(id)) {
+                    result.add(new FacetCount(value, id == null ? 0 : counts[id]));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.jobtracker.search;
+
+import com.jobtracker.util.LongDoubleHashMap;
+import com.jobtracker.util.ScratchPool;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * HNSW approximate nearest-neighbour graph over L2-normalized vectors, scored by dot product (= cosine).
+ * Everything lives in primitive arrays: one flat float[] for the vectors, one int[] for the dense
+ * layer-0 adjacency and small per-node int[] blocks for the few nodes on upper layers.
+ *
+ * Removal only marks a node: it keeps routing searches through the graph but is never returned,
+ * and adding a job id again replaces its vector the same way. Marked nodes go away with the next rebuild.
+ *
+ * Not thread-safe while adding or removing; once built, any number of threads may search concurrently.
+ * SemanticIndex builds a fresh instance on every reload and swaps it in; the search scratch space is
+ * pooled across instances, so old generations leave nothing behind on the request threads.
+ */
+public final class HnswIndex {
+
+    private final int dimension;
+    private final int m;
+    private final int m0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private float[] vectors;
+    private long[] jobIds;
+    // Layer 0: (m0 + 1) ints per node, the first one is the neighbour count
+    private int[] layer0;
+    // Layers 1..level(node): (m + 1) ints per layer, null for nodes that only live on layer 0
+    private int[][] upperLayers;
+    private boolean[] removed;
+    // Live node per job id (stored as double), -1 once removed
+    private final LongDoubleHashMap nodeByJobId;
+    private int size;
+    private int removedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    // Each scratch holds an int per node, so keep about one per core rather than one per thread and index
+    private static final ScratchPool<SearchScratch> SCRATCH =
+            new ScratchPool<>(Runtime.getRuntime().availableProcessors(), SearchScratch::new);
+
+    public HnswIndex(int dimension, int m, int efConstruction, int expectedSize, long seed) {
+        this.dimension = dimension;
+        this.m = m;
+        this.m0 = 2 * m;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new Random(seed);
+        int capacity = Math.max(16, expectedSize);
+        this.vectors = new float[checkedLength(capacity, dimension)];
+        this.jobIds = new long[capacity];
+        this.layer0 = new int[checkedLength(capacity, m0 + 1)];
+        this.upperLayers = new int[capacity][];
+        this.removed = new boolean[capacity];
+        this.nodeByJobId = new LongDoubleHashMap(capacity);
+    }
+
+    /** Number of live (not removed) vectors. */
+    public int size() {
+        return size - removedCount;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Insert a vector (normalized here, the argument is left untouched).
+     * A job id that is already present gets the new vector, its old node is removed.
+     */
+    public void add(long jobId, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + ", got " + vector.length);
+        }
+        remove(jobId);
+        ensureCapacity(size + 1);
+        int node = size++;
+        jobIds[node] = jobId;
+        setNode(jobId, node);
+        normalizeInto(vector, vectors, node * dimension);
+
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        if (level > 0) {
+            upperLayers[node] = new int[level * (m + 1)];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] query = Arrays.copyOfRange(vectors, node * dimension, (node + 1) * dimension);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            NodeHeap candidates = searchLayer(query, current, efConstruction, layer, false);
+            int[] neighbours = candidates.sortedNodesDescending();
+            int maxLinks = layer == 0 ? m0 : m;
+            int[] selected = selectNeighbours(node, neighbours, maxLinks);
+            setLinks(node, layer, selected, selected.length);
+            for (int neighbour : selected) {
+                link(neighbour, node, layer);
+            }
+            current = neighbours[0];
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * Remove the vector of a job; it is no longer returned by search.
+     * @return whether the job was in the index
+     */
+    public boolean remove(long jobId) {
+        int node = (int) nodeByJobId.get(jobId, -1);
+        if (node < 0) {
+            return false;
+        }
+        removed[node] = true;
+        removedCount++;
+        setNode(jobId, -1);
+        return true;
+    }
+
+    private void setNode(long jobId, int node) {
+        nodeByJobId.addTo(jobId, node - nodeByJobId.get(jobId, 0));
+    }
+
+    /**
+     * Job ids of the (approximately) k most similar vectors, best first.
+     * @param ef size of the dynamic candidate list, higher is slower but more accurate (>= k)
+     */
+    public long[] search(float[] vector, int k, int ef) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + ", got " + vector.length);
+        }
+        if (size() == 0 || k <= 0) {
+            return new long[0];
+        }
+        float[] query = new float[dimension];
+        normalizeInto(vector, query, 0);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        int[] nodes = searchLayer(query, current, Math.max(ef, k), 0, true).sortedNodesDescending();
+        long[] result = new long[Math.min(k, nodes.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = jobIds[nodes[i]];
+        }
+        return result;
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float best = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] links = links(current, layer);
+            int offset = offset(current, layer);
+            for (int i = 1; i <= links[offset]; i++) {
+                int candidate = links[offset + i];
+                float score = similarity(query, candidate);
+                if (score > best) {
+                    best = score;
+                    current = candidate;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Best-first search on one layer; returns the ef most similar nodes found.
+    // With skipRemoved, removed nodes are still expanded but never make it into the results.
+    private NodeHeap searchLayer(float[] query, int start, int ef, int layer, boolean skipRemoved) {
+        SearchScratch s = SCRATCH.borrow();
+        try {
+            return searchLayer(query, start, ef, layer, skipRemoved, s);
+        } finally {
+            SCRATCH.release(s);
+        }
+    }
+
+    private NodeHeap searchLayer(float[] query, int start, int ef, int layer, boolean skipRemoved, SearchScratch s) {
+        s.reset(size);
+        NodeHeap results = new NodeHeap(ef + 1, false);
+        s.candidates.clear();
+
+        float startScore = similarity(query, start);
+        s.visit(start);
+        s.candidates.push(start, startScore);
+        if (!(skipRemoved && removed[start])) {
+            results.push(start, startScore);
+        }
+
+        while (s.candidates.size() > 0) {
+            float candidateScore = s.candidates.topScore();
+            int candidate = s.candidates.pop();
+            if (results.size() >= ef && candidateScore < results.topScore()) {
+                break;
+            }
+            int[] links = links(candidate, layer);
+            int offset = offset(candidate, layer);
+            for (int i = 1; i <= links[offset]; i++) {
+                int neighbour = links[offset + i];
+                if (!s.visit(neighbour)) {
+                    continue;
+                }
+                float score = similarity(query, neighbour);
+                if (results.size() < ef || score > results.topScore()) {
+                    s.candidates.push(neighbour, score);
+                    if (skipRemoved && removed[neighbour]) {
+                        continue;
+                    }
+                    results.push(neighbour, score);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Neighbour selection heuristic from the HNSW paper: keep a candidate only if it is closer to the
+     * base node than to every neighbour kept so far (spreads links in all directions), then fill up.
+     */
+    private int[] selectNeighbours(int base, int[] candidatesBestFirst, int max) {
+        int[] selected = new int[Math.min(max, candidatesBestFirst.length)];
+        boolean[] taken = new boolean[candidatesBestFirst.length];
+        int count = 0;
+        for (int i = 0; i < candidatesBestFirst.length && count < selected.length; i++) {
+            int candidate = candidatesBestFirst[i];
+            if (candidate == base) {
+                taken[i] = true;
+                continue;
+            }
+            float toBase = similarity(base, candidate);
+            boolean keep = true;
+            for (int j = 0; j < count; j++) {
+                if (similarity(selected[j], candidate) > toBase) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[count++] = candidate;
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < candidatesBestFirst.length && count < selected.length; i++) {
+            if (!taken[i]) {
+                selected[count++] = candidatesBestFirst[i];
+            }
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    // Add a back link, re-selecting the neighbour's links when it exceeds its degree limit
+    private void link(int node, int newNeighbour, int layer) {
+        int[] links = links(node, layer);
+        int offset = offset(node, layer);
+        int count = links[offset];
+        int max = layer == 0 ? m0 : m;
+        if (count < max) {
+            links[offset + 1 + count] = newNeighbour;
+            links[offset] = count + 1;
+            return;
+        }
+        int[] all = Arrays.copyOfRange(links, offset + 1, offset + 1 + count + 1);
+        all[count] = newNeighbour;
+        // Order by similarity to the node, best first
+        float[] scores = new float[all.length];
+        for (int i = 0; i < all.length; i++) {
+            scores[i] = similarity(node, all[i]);
+        }
+        sortDescending(all, scores);
+        int[] selected = selectNeighbours(node, all, max);
+        setLinks(node, layer, selected, selected.length);
+    }
+
+    private void setLinks(int node, int layer, int[] neighbours, int count) {
+        int[] links = links(node, layer);
+        int offset = offset(node, layer);
+        links[offset] = count;
+        System.arraycopy(neighbours, 0, links, offset + 1, count);
+    }
+
+    private int[] links(int node, int layer) {
+        return layer == 0 ? layer0 : upperLayers[node];
+    }
+
+    private int offset(int node, int layer) {
+        return layer == 0 ? node * (m0 + 1) : (layer - 1) * (m + 1);
+    }
+
+    private float similarity(float[] query, int node) {
+        int base = node * dimension;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += query[i] * vectors[base + i];
+        }
+        return sum;
+    }
+
+    private float similarity(int a, int b) {
+        int baseA = a * dimension;
+        int baseB = b * dimension;
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += vectors[baseA + i] * vectors[baseB + i];
+        }
+        return sum;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= jobIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, jobIds.length + (jobIds.length >> 1));
+        vectors = Arrays.copyOf(vectors, checkedLength(capacity, dimension));
+        jobIds = Arrays.copyOf(jobIds, capacity);
+        layer0 = Arrays.copyOf(layer0, checkedLength(capacity, m0 + 1));
+        upperLayers = Arrays.copyOf(upperLayers, capacity);
+        removed = Arrays.copyOf(removed, capacity);
+    }
+
+    private static int checkedLength(int count, int width) {
+        long length = (long) count * width;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Index too large for one array: " + count + " x " + width);
+        }
+        return (int) length;
+    }
+
+    private static void normalizeInto(float[] vector, float[] target, int offset) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float scale = norm > 0 ? (float) (1 / Math.sqrt(norm)) : 0;
+        for (int i = 0; i < vector.length; i++) {
+            target[offset + i] = vector[i] * scale;
+        }
+    }
+
+    // Insertion sort, arrays here are at most m0 + 1 long
+    private static void sortDescending(int[] nodes, float[] scores) {
+        for (int i = 1; i < nodes.length; i++) {
+            int node = nodes[i];
+            float score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                nodes[j + 1] = nodes[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            nodes[j + 1] = node;
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * Binary heap of (node, score) in parallel primitive arrays.
+     * max = true keeps the best score on top, false the worst.
+     */
+    private static final class NodeHeap {
+        private int[] nodes;
+        private float[] scores;
+        private int size;
+        private final boolean max;
+
+        NodeHeap(int capacity, boolean max) {
+            this.nodes = new int[Math.max(capacity, 4)];
+            this.scores = new float[nodes.length];
+            this.max = max;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        float topScore() {
+            return scores[0];
+        }
+
+        void push(int node, float score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!above(score, scores[parent])) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            size--;
+            if (size > 0) {
+                int node = nodes[size];
+                float score = scores[size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && above(scores[child + 1], scores[child])) {
+                        child++;
+                    }
+                    if (!above(scores[child], score)) {
+                        break;
+                    }
+                    nodes[i] = nodes[child];
+                    scores[i] = scores[child];
+                    i = child;
+                }
+                nodes[i] = node;
+                scores[i] = score;
+            }
+            return top;
+        }
+
+        private boolean above(float a, float b) {
+            return max ? a > b : a < b;
+        }
+
+        // Drains the heap
+        int[] sortedNodesDescending() {
+            int[] sorted = new int[size];
+            float[] sortedScores = new float[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sortedScores[i] = topScore();
+                sorted[i] = pop();
+            }
+            if (max) {
+                // A max-heap pops best first, so the fill above left it worst first
+                for (int i = 0, j = sorted.length - 1; i < j; i++, j--) {
+                    int t = sorted[i];
+                    sorted[i] = sorted[j];
+                    sorted[j] = t;
+                }
+            }
+            return sorted;
+        }
+    }
+
+    // Visited marks (epoch based, no clearing) and candidate queue, borrowed for one layer search
+    private static final class SearchScratch {
+        private int[] visited = new int[0];
+        private int epoch;
+        private final NodeHeap candidates = new NodeHeap(64, true);
+
+        void reset(int size) {
+            if (visited.length < size) {
+                visited = new int[Math.max(size, visited.length * 2)];
+                epoch = 0;
+            } else if (visited.length > 1024 && visited.length > size * 4) {
+                // Shrink after a reload with a much smaller catalog
+                visited = new int[Math.max(1024, size * 2)];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                epoch = 1;
+            }
+        }
+
+        // True when the node was not visited yet in this search
+        boolean visit(int node) {
+            if (visited[node] == epoch) {
+                return false;
+            }
+            visited[node] = epoch;
+            return true;
+        }
+    }
+}
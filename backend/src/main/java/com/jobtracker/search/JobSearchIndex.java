@@ -0,0 +1,535 @@
+package com.jobtracker.search;
+
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.util.ScratchPool;
+import com.jobtracker.util.TextTokenizer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over title/company/location/description with BM25 ranking.
+ * Rebuilt from JobRepository at startup and kept up to date through JobChangedEvent.
+ * Not created with app.search.lexical-backend=postgres, so that mode holds no copy of the catalog.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.lexical-backend", havingValue = "memory", matchIfMissing = true)
+public class JobSearchIndex {
+
+    // Field boosts are folded into term frequency (simplified BM25F)
+    private static final int TITLE_BOOST = 3;
+    private static final int COMPANY_BOOST = 2;
+    private static final int LOCATION_BOOST = 1;
+    private static final int DESCRIPTION_BOOST = 1;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Prefix expansions score lower than an exact term hit
+    private static final float PREFIX_WEIGHT = 0.6f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_QUERY_TERMS = 8;
+
+    // A failed startup build is retried with doubling delays up to the max
+    private static final long FIRST_RETRY_DELAY_MS = 5_000;
+    private static final long MAX_RETRY_DELAY_MS = 300_000;
+
+    private final JobRepository jobRepository;
+    private final int maxPrefixExpansions;
+    private final int descriptionMaxTokens;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Each buffer holds a float per ordinal, so keep about one per core rather than one per request thread
+    private final ScratchPool<ScoreBuffer> scoreBuffers =
+            new ScratchPool<>(Runtime.getRuntime().availableProcessors(), ScoreBuffer::new);
+
+    // Guarded by lock
+    private IndexData data;
+    // Non-null while a rebuild is running: changes to replay on the fresh index before swapping it in
+    private List<JobChangedEvent> pendingChanges;
+
+    private volatile boolean ready = false;
+    private ScheduledExecutorService rebuilder;
+
+    public JobSearchIndex(JobRepository jobRepository,
+                          @Value("${app.search.index.max-prefix-expansions:16}") int maxPrefixExpansions,
+                          @Value("${app.search.index.description-max-tokens:200}") int descriptionMaxTokens,
+                          @Value("${app.search.index.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.jobRepository = jobRepository;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+        this.descriptionMaxTokens = descriptionMaxTokens;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.data = new IndexData(descriptionMaxTokens);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        // Don't block startup, searches fall back to SQL until the index is ready
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.execute(() -> rebuildUntilReady(FIRST_RETRY_DELAY_MS));
+    }
+
+    // Once built, the index is kept current by change events, so only the first build is retried
+    private void rebuildUntilReady(long retryDelayMs) {
+        if (rebuild() || ready) {
+            return;
+        }
+        log.warn("Job index not ready, retrying the rebuild in {}ms", retryDelayMs);
+        rebuilder.schedule(() -> rebuildUntilReady(Math.min(retryDelayMs * 2, MAX_RETRY_DELAY_MS)),
+                retryDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the database, reading jobs in keyset-ordered batches.
+     * @return true if the fresh index was swapped in, false if the build failed or another one was running
+     */
+    public boolean rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                log.warn("Job index rebuild already running, skipping");
+                return false;
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        IndexData fresh = new IndexData(descriptionMaxTokens);
+        try {
+            long lastId = 0;
+            while (true) {
+                List<Job> batch = jobRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Job job : batch) {
+                    fresh.add(job);
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } catch (Exception e) {
+            log.error("Job index rebuild failed", e);
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (JobChangedEvent event : pendingChanges) {
+                apply(fresh, event);
+            }
+            // Updates replayed above took new ordinals
+            if (fresh.deletedSinceCompaction > 0) {
+                fresh.compact();
+            }
+            data = fresh;
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job index rebuilt: {} jobs, {} terms in {}ms",
+                fresh.liveDocs, fresh.terms.size(), System.currentTimeMillis() - start);
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(data, event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(IndexData target, JobChangedEvent event) {
+        for (Job job : event.jobs()) {
+            if (job.getId() == null) {
+                continue;
+            }
+            if (event.type() == JobChangedEvent.ChangeType.DELETED) {
+                target.remove(job.getId());
+            } else {
+                target.add(job);
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ordinals handed out since the last compaction, live or deleted
+    int ordinalCount() {
+        lock.readLock().lock();
+        try {
+            return data.nextOrdinal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index.
+     * @param query free text, every term also matches indexed terms it is a prefix of
+     * @param limit maximum number of results
+     * @return job IDs ordered by BM25 score, best first
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<String> queryTerms = new ArrayList<>(terms);
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        ScoreBuffer buffer = scoreBuffers.borrow();
+        lock.readLock().lock();
+        try {
+            return data.search(queryTerms, limit, maxPrefixExpansions, buffer);
+        } finally {
+            lock.readLock().unlock();
+            scoreBuffers.release(buffer);
+        }
+    }
+
+    /**
+     * Append-only postings for one term. Ordinals are handed out in increasing order (and
+     * compaction renumbers them in the same order), so doc ordinals stay sorted without any extra work.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int ordinal, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = ordinal;
+            freqs[size] = freq;
+            size++;
+        }
+
+        // Drop postings of deleted docs (remapped to -1) and renumber the rest
+        void compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[docs[i]];
+                if (ordinal >= 0) {
+                    docs[kept] = ordinal;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    private static final class IndexData {
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        final Map<Long, Integer> idToOrdinal = new HashMap<>();
+        final BitSet deleted = new BitSet();
+        final int descriptionMaxTokens;
+
+        long[] ordinalToId = new long[1024];
+        int[] docLength = new int[1024];
+        int nextOrdinal;
+        int liveDocs;
+        long totalLength;
+        int deletedSinceCompaction;
+
+        IndexData(int descriptionMaxTokens) {
+            this.descriptionMaxTokens = descriptionMaxTokens;
+        }
+
+        void add(Job job) {
+            long id = job.getId();
+            remove(id);
+
+            Map<String, Integer> termFreqs = new HashMap<>();
+            int length = 0;
+            length += collect(termFreqs, job.getTitle(), TITLE_BOOST, Integer.MAX_VALUE);
+            length += collect(termFreqs, job.getCompany(), COMPANY_BOOST, Integer.MAX_VALUE);
+            length += collect(termFreqs, job.getLocation(), LOCATION_BOOST, Integer.MAX_VALUE);
+            length += collect(termFreqs, job.getDescription(), DESCRIPTION_BOOST, descriptionMaxTokens);
+
+            int ordinal = nextOrdinal++;
+            if (ordinal == ordinalToId.length) {
+                ordinalToId = Arrays.copyOf(ordinalToId, ordinal * 2);
+                docLength = Arrays.copyOf(docLength, ordinal * 2);
+            }
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), t -> new Postings()).add(ordinal, entry.getValue());
+            }
+            ordinalToId[ordinal] = id;
+            docLength[ordinal] = length;
+            idToOrdinal.put(id, ordinal);
+            totalLength += length;
+            liveDocs++;
+        }
+
+        void remove(long id) {
+            Integer ordinal = idToOrdinal.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            deleted.set(ordinal);
+            totalLength -= docLength[ordinal];
+            liveDocs--;
+            deletedSinceCompaction++;
+
+            // Every update takes a new ordinal, so compact once dead ones make up a noticeable share
+            if (deletedSinceCompaction > 1000 && deletedSinceCompaction > liveDocs / 4) {
+                compact();
+            }
+        }
+
+        /**
+         * Drop dead postings and renumber live docs to 0..liveDocs-1 (keeping their order), so
+         * ordinals and the arrays indexed by them stay bounded by the live doc count.
+         */
+        void compact() {
+            int[] remap = new int[nextOrdinal];
+            int live = 0;
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                if (deleted.get(ordinal)) {
+                    remap[ordinal] = -1;
+                } else {
+                    remap[ordinal] = live;
+                    ordinalToId[live] = ordinalToId[ordinal];
+                    docLength[live] = docLength[ordinal];
+                    live++;
+                }
+            }
+            terms.values().removeIf(postings -> {
+                postings.compact(remap);
+                return postings.size == 0;
+            });
+            idToOrdinal.replaceAll((id, ordinal) -> remap[ordinal]);
+            int capacity = Math.max(1024, live * 2);
+            if (ordinalToId.length > capacity * 2) {
+                ordinalToId = Arrays.copyOf(ordinalToId, capacity);
+                docLength = Arrays.copyOf(docLength, capacity);
+            }
+            deleted.clear();
+            nextOrdinal = live;
+            deletedSinceCompaction = 0;
+        }
+
+        private static int collect(Map<String, Integer> termFreqs, String text, int boost, int maxTokens) {
+            if (text == null) {
+                return 0;
+            }
+            List<String> tokens = TextTokenizer.tokenize(text);
+            int count = Math.min(tokens.size(), maxTokens);
+            for (int i = 0; i < count; i++) {
+                termFreqs.merge(tokens.get(i), boost, Integer::sum);
+            }
+            return count * boost;
+        }
+
+        List<Long> search(List<String> queryTerms, int limit, int maxPrefixExpansions, ScoreBuffer buffer) {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            float avgDocLength = Math.max(1f, (float) totalLength / liveDocs);
+            buffer.ensureCapacity(nextOrdinal);
+            try {
+                for (String term : queryTerms) {
+                    Postings exact = terms.get(term);
+                    if (exact != null) {
+                        score(exact, 1f, avgDocLength, buffer);
+                    }
+                    if (term.length() < MIN_PREFIX_LENGTH) {
+                        continue;
+                    }
+                    int expanded = 0;
+                    for (Map.Entry<String, Postings> entry : terms.tailMap(term, false).entrySet()) {
+                        if (expanded >= maxPrefixExpansions || !entry.getKey().startsWith(term)) {
+                            break;
+                        }
+                        score(entry.getValue(), PREFIX_WEIGHT, avgDocLength, buffer);
+                        expanded++;
+                    }
+                }
+                return topK(buffer, limit);
+            } finally {
+                buffer.reset();
+            }
+        }
+
+        private void score(Postings postings, float weight, float avgDocLength, ScoreBuffer buffer) {
+            int df = Math.min(postings.size, liveDocs);
+            float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            for (int i = 0; i < postings.size; i++) {
+                int ordinal = postings.docs[i];
+                if (deleted.get(ordinal)) {
+                    continue;
+                }
+                int tf = postings.freqs[i];
+                float norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength[ordinal] / avgDocLength));
+                buffer.add(ordinal, weight * idf * norm);
+            }
+        }
+
+        private List<Long> topK(ScoreBuffer buffer, int limit) {
+            int k = Math.min(limit, buffer.touchedCount);
+            if (k == 0) {
+                return List.of();
+            }
+            // Bounded min-heap on score, root is the weakest of the current top K
+            int[] heap = new int[k];
+            int heapSize = 0;
+            float[] scores = buffer.scores;
+            for (int i = 0; i < buffer.touchedCount; i++) {
+                int ordinal = buffer.touched[i];
+                if (heapSize < k) {
+                    heap[heapSize] = ordinal;
+                    siftUp(heap, heapSize++, scores);
+                } else if (scores[ordinal] > scores[heap[0]]) {
+                    heap[0] = ordinal;
+                    siftDown(heap, heapSize, scores);
+                }
+            }
+
+            Long[] result = new Long[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                result[i] = ordinalToId[heap[0]];
+                heap[0] = heap[i];
+                siftDown(heap, i, scores);
+            }
+            return Arrays.asList(result);
+        }
+
+        private static void siftUp(int[] heap, int index, float[] scores) {
+            int ordinal = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[heap[parent]] <= scores[ordinal]) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = ordinal;
+        }
+
+        private static void siftDown(int[] heap, int size, float[] scores) {
+            if (size == 0) {
+                return;
+            }
+            int index = 0;
+            int ordinal = heap[0];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                    child++;
+                }
+                if (scores[ordinal] <= scores[heap[child]]) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = ordinal;
+        }
+    }
+
+    /**
+     * Dense score accumulator, borrowed from a bounded pool per search to avoid allocating per query.
+     */
+    private static final class ScoreBuffer {
+        float[] scores = new float[0];
+        int[] touched = new int[256];
+        int touchedCount;
+
+        void ensureCapacity(int ordinals) {
+            if (scores.length < ordinals) {
+                scores = new float[Math.max(ordinals, scores.length * 2)];
+            } else if (scores.length > 1024 && scores.length > ordinals * 4) {
+                // Shrink after the index was compacted
+                scores = new float[Math.max(1024, ordinals * 2)];
+            }
+        }
+
+        void add(int ordinal, float score) {
+            if (scores[ordinal] == 0f) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = ordinal;
+            }
+            scores[ordinal] += score;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0f;
+            }
+            touchedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.jobtracker.search;
+
+import com.jobtracker.util.LongDoubleHashMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Weighted Reciprocal Rank Fusion over any number of ranked retrievers (lexical, semantic, ...).
+ * score(id) = sum over retrievers of weight / (k + rank), rank starting at 1.
+ * Scores are accumulated in a per-thread primitive map and the top K are picked with a bounded
+ * heap, so fusing a few thousand candidates only allocates the result list.
+ * Ties keep the order in which ids were first seen (earlier retriever, better rank first).
+ */
+public final class RankFusion {
+
+    public static final int DEFAULT_K = 60;
+
+    /**
+     * One retriever's ranked ids, best first.
+     */
+    public record Ranking(String retriever, List<Long> ids, double weight, int k) {
+        public static Ranking of(String retriever, List<Long> ids) {
+            return new Ranking(retriever, ids, 1.0, DEFAULT_K);
+        }
+    }
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private RankFusion() {
+    }
+
+    /**
+     * @return up to topK ids, highest fused score first
+     */
+    public static List<Long> fuse(List<Ranking> rankings, int topK) {
+        Workspace ws = WORKSPACE.get();
+        LongDoubleHashMap scores = ws.scores;
+        try {
+            accumulate(rankings, scores);
+            return topK(scores, Math.min(topK, scores.size()), ws);
+        } finally {
+            scores.clear();
+        }
+    }
+
+    /**
+     * Fused score of every id, in first-seen order. For callers that need the raw scores.
+     */
+    public static LongDoubleHashMap scores(List<Ranking> rankings) {
+        LongDoubleHashMap scores = new LongDoubleHashMap(rankings.stream().mapToInt(r -> r.ids().size()).sum());
+        accumulate(rankings, scores);
+        return scores;
+    }
+
+    private static void accumulate(List<Ranking> rankings, LongDoubleHashMap scores) {
+        for (Ranking ranking : rankings) {
+            List<Long> ids = ranking.ids();
+            double weight = ranking.weight();
+            int k = ranking.k();
+            for (int i = 0, n = ids.size(); i < n; i++) {
+                scores.addTo(ids.get(i), weight / (k + i + 1));
+            }
+        }
+    }
+
+    // Heap holds insertion indexes of the map; root is the weakest of the current top K
+    private static List<Long> topK(LongDoubleHashMap scores, int k, Workspace ws) {
+        if (k <= 0) {
+            return List.of();
+        }
+        int[] heap = ws.heap(k);
+        int heapSize = 0;
+        for (int i = 0, n = scores.size(); i < n; i++) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, scores);
+            } else if (better(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        Long[] result = new Long[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = scores.keyAt(heap[0]);
+            heap[0] = heap[i];
+            siftDown(heap, i, scores);
+        }
+        return Arrays.asList(result);
+    }
+
+    // Higher score wins, on equal score the earlier seen id
+    private static boolean better(int a, int b, LongDoubleHashMap scores) {
+        double sa = scores.valueAt(a);
+        double sb = scores.valueAt(b);
+        return sa > sb || (sa == sb && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, LongDoubleHashMap scores) {
+        int entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], entry, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private static void siftDown(int[] heap, int size, LongDoubleHashMap scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int entry = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && better(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!better(entry, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+
+    private static final class Workspace {
+        final LongDoubleHashMap scores = new LongDoubleHashMap(1024);
+        int[] heap = new int[128];
+
+        int[] heap(int k) {
+            if (heap.length < k) {
+                heap = new int[Math.max(k, heap.length * 2)];
+            }
+            return heap;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.jobtracker.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.dto.HybridSearchResult;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.service.CatalogVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Short-lived per-node cache of fused hybrid search results, keyed by normalized query + catalog version.
+ * Concurrent identical queries are coalesced: only the first caller runs the search, the others wait for its result.
+ * Partial (lexical-only) results are shared with coalesced callers but not cached.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final CatalogVersionService catalogVersionService;
+    private final Cache<String, HybridSearchResult> results;
+    private final ConcurrentMap<String, CompletableFuture<HybridSearchResult>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public SearchResultCache(CatalogVersionService catalogVersionService,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.search.cache.ttl:30s}") Duration ttl,
+                             @Value("${app.search.cache.max-size:1000}") long maxSize) {
+        this.catalogVersionService = catalogVersionService;
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+        this.hits = Counter.builder("search.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("search.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("search.cache.requests").tag("result", "coalesced").register(meterRegistry);
+    }
+
+    public static String normalize(String query) {
+        return WHITESPACE.matcher(query.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * Return the cached result for this query, or run the search once for all concurrent callers.
+     * @param loader runs the actual search on the normalized query; failures are not cached
+     */
+    public HybridSearchResult get(String query, Function<String, HybridSearchResult> loader) {
+        String normalized = normalize(query);
+        String key = catalogVersionService.current() + "|" + normalized;
+
+        HybridSearchResult cached = results.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<HybridSearchResult> mine = new CompletableFuture<>();
+        CompletableFuture<HybridSearchResult> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        misses.increment();
+        try {
+            HybridSearchResult value = loader.apply(normalized);
+            if (!value.isPartial()) {
+                results.put(key, value);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Entries are keyed by catalog version already, this just frees the memory early
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        results.invalidateAll();
+    }
+}
@@ -0,0 +1,171 @@
+package com.jobtracker.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.client.AiServiceClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM semantic retrieval: an HNSW index over the job vectors exported by ai_service
+ * (/rag/export_embeddings), rebuilt in the background every refresh interval and swapped in.
+ * Only the query embedding is fetched remotely (/rag/embed), and cached per normalized query.
+ * Jobs added after the last export are missing until the next refresh; deleted jobs are dropped
+ * when search results are hydrated.
+ */
+@Slf4j
+@Component
+public class SemanticIndex {
+
+    private final AiServiceClient aiServiceClient;
+    private final boolean enabled;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final Duration refreshInterval;
+    private final Cache<String, float[]> queryEmbeddings;
+    private final Counter embeddingHits;
+    private final Counter embeddingMisses;
+
+    private volatile HnswIndex index;
+    private ScheduledExecutorService refresher;
+
+    public SemanticIndex(AiServiceClient aiServiceClient,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.search.semantic.local-index:false}") boolean enabled,
+                         @Value("${app.search.semantic.hnsw.m:16}") int m,
+                         @Value("${app.search.semantic.hnsw.ef-construction:100}") int efConstruction,
+                         @Value("${app.search.semantic.hnsw.ef-search:64}") int efSearch,
+                         @Value("${app.search.semantic.refresh-interval:30m}") Duration refreshInterval,
+                         @Value("${app.search.semantic.embedding-cache.ttl:1h}") Duration embeddingTtl,
+                         @Value("${app.search.semantic.embedding-cache.max-size:10000}") long embeddingMaxSize) {
+        this.aiServiceClient = aiServiceClient;
+        this.enabled = enabled;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.refreshInterval = refreshInterval;
+        this.queryEmbeddings = Caffeine.newBuilder()
+                .expireAfterWrite(embeddingTtl)
+                .maximumSize(embeddingMaxSize)
+                .build();
+        this.embeddingHits = Counter.builder("search.semantic.embedding.cache").tag("result", "hit").register(meterRegistry);
+        this.embeddingMisses = Counter.builder("search.semantic.embedding.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("search.semantic.index.size", this, s -> s.index == null ? 0 : s.index.size())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        if (!enabled) {
+            return;
+        }
+        // Don't block startup, semantic search stays remote until the first build is done
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "semantic-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::reload, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Rebuild the index from a fresh ai_service export; the current index keeps serving until then.
+     */
+    public void reload() {
+        long start = System.currentTimeMillis();
+        HnswIndex[] fresh = new HnswIndex[1];
+        try {
+            aiServiceClient.exportEmbeddings(new AiServiceClient.EmbeddingSink() {
+                private long announced;
+                private long received;
+
+                @Override
+                public void start(int dimension, long count) {
+                    announced = count;
+                    int expected = count < 0 ? 1024 : (int) Math.min(count, Integer.MAX_VALUE);
+                    fresh[0] = new HnswIndex(dimension, m, efConstruction, expected, 42);
+                }
+
+                @Override
+                public void accept(long jobId, float[] vector) {
+                    fresh[0].add(jobId, vector);
+                    received++;
+                }
+
+                // An export that doesn't add up is never swapped in
+                @Override
+                public void end(long count) {
+                    if (count != received || (announced >= 0 && announced != received)) {
+                        throw new IllegalStateException("Embeddings export sent " + received
+                                + " vectors, announced " + announced + ", trailer says " + count);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.error("Semantic index reload failed, keeping the previous index: {}", e.getMessage());
+            return;
+        }
+        if (fresh[0] == null || fresh[0].size() == 0) {
+            log.warn("Embeddings export was empty, keeping the previous index");
+            return;
+        }
+        index = fresh[0];
+        log.info("Semantic index rebuilt: {} vectors of dimension {} in {}ms",
+                fresh[0].size(), fresh[0].dimension(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * IDs of the top k jobs for the query, best first. Throws if the query embedding can't be fetched.
+     */
+    public List<Long> search(String query, int k) {
+        HnswIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Semantic index not loaded");
+        }
+        long[] ids = current.search(embedding(query), k, efSearch);
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    private float[] embedding(String query) {
+        String key = SearchResultCache.normalize(query);
+        float[] cached = queryEmbeddings.getIfPresent(key);
+        if (cached != null) {
+            embeddingHits.increment();
+            return cached;
+        }
+        embeddingMisses.increment();
+        float[] embedding = aiServiceClient.embedQuery(key);
+        queryEmbeddings.put(key, embedding);
+        return embedding;
+    }
+}
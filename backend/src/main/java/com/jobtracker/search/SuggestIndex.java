@@ -0,0 +1,645 @@
+package com.jobtracker.search;
+
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.dto.Suggestion;
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over job titles, companies and locations: a radix trie where every node keeps
+ * its subtree's best completions, so a lookup is a walk down the prefix plus a copy.
+ *
+ * A phrase is reachable from its start and from the start of each of its first words
+ * ("senior java developer" also completes "java d..."). Weight is the number of jobs using
+ * the phrase plus favorite-weight per favorite on those jobs.
+ * Job writes are patched in through JobChangedEvent; favorite counts are only reloaded by
+ * the periodic full rebuild.
+ */
+@Slf4j
+@Component
+public class SuggestIndex {
+
+    private enum Kind {
+        TITLE, COMPANY, LOCATION
+    }
+
+    // Word starts a phrase can be completed from, the phrase start included
+    private static final int MAX_ANCHORS = 4;
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final JobRepository jobRepository;
+    private final UserFavoriteRepository userFavoriteRepository;
+    private final int maxResults;
+    private final int favoriteWeight;
+    private final Duration refreshInterval;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private IndexData data;
+    // Non-null while a rebuild is running: changes to replay on the fresh index before swapping it in
+    private List<JobChangedEvent> pendingChanges;
+
+    private volatile boolean ready = false;
+    private ScheduledExecutorService refresher;
+
+    public SuggestIndex(JobRepository jobRepository,
+                        UserFavoriteRepository userFavoriteRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.search.suggest.max-results:10}") int maxResults,
+                        @Value("${app.search.suggest.favorite-weight:5}") int favoriteWeight,
+                        @Value("${app.search.suggest.refresh-interval:15m}") Duration refreshInterval,
+                        @Value("${app.search.index.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.jobRepository = jobRepository;
+        this.userFavoriteRepository = userFavoriteRepository;
+        this.maxResults = maxResults;
+        this.favoriteWeight = favoriteWeight;
+        this.refreshInterval = refreshInterval;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.data = new IndexData(maxResults, favoriteWeight);
+        Gauge.builder("search.suggest.phrases", this, SuggestIndex::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        // Don't block startup, suggestions are empty until the first build is done
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggest-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::rebuild, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuild from the database (job summaries in keyset-ordered batches, favorite counts per job).
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                log.warn("Suggest index rebuild already running, skipping");
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        IndexData fresh = new IndexData(maxResults, favoriteWeight);
+        try {
+            Map<Long, Integer> favorites = new HashMap<>();
+            for (Object[] row : userFavoriteRepository.countFavoritesPerJob()) {
+                favorites.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+            long lastId = 0;
+            while (true) {
+                List<JobSummary> batch = jobRepository.findSummariesByIdGreaterThan(lastId, Limit.of(rebuildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (JobSummary job : batch) {
+                    fresh.addJob(job.getId(), job.getTitle(), job.getCompany(), job.getLocation(),
+                            favorites.getOrDefault(job.getId(), 0), null);
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            fresh.buildTrie();
+        } catch (Exception e) {
+            log.error("Suggest index rebuild failed: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (JobChangedEvent event : pendingChanges) {
+                fresh.apply(event);
+            }
+            data = fresh;
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Suggest index rebuilt: {} phrases from {} jobs in {}ms",
+                fresh.entries.size(), fresh.jobs.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            data.apply(event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best completions of the prefix, highest weight first.
+     * @param limit capped at app.search.suggest.max-results, the number of completions kept per node
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // A typed trailing space means the word is complete: "java " shouldn't offer "javascript"
+        if (Character.isWhitespace(prefix.charAt(prefix.length() - 1)) && key.length() < MAX_KEY_LENGTH) {
+            key = key + ' ';
+        }
+        lock.readLock().lock();
+        try {
+            Node node = data.locate(key);
+            if (node == null) {
+                return List.of();
+            }
+            int count = Math.min(Math.min(limit, maxResults), node.top.length);
+            List<Suggestion> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Entry entry = node.top[i];
+                result.add(new Suggestion(entry.text, entry.kind().name().toLowerCase(Locale.ROOT), entry.jobCount()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lowercase, single spaces, no control chars, capped length; applied to phrases and prefixes alike
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(Math.min(text.length(), MAX_KEY_LENGTH));
+        boolean space = false;
+        for (int i = 0; i < text.length() && builder.length() < MAX_KEY_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isISOControl(c) && !Character.isWhitespace(c)) {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                space = builder.length() > 0;
+                continue;
+            }
+            if (space) {
+                builder.append(' ');
+                space = false;
+            }
+            builder.append(Character.toLowerCase(c));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * One distinct normalized phrase. Trie nodes hold references to entries, so weights read
+     * through them are always current; nodes on the entry's paths are re-ranked on every change.
+     */
+    private static final class Entry {
+        final String key;
+        final String text;
+        final int[] jobsByKind = new int[Kind.values().length];
+        int favorites;
+        // Ranking key, kept next to the entry so ranking doesn't chase the counts array
+        long weight;
+
+        Entry(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+
+        int jobCount() {
+            int count = 0;
+            for (int jobs : jobsByKind) {
+                count += jobs;
+            }
+            return count;
+        }
+
+        Kind kind() {
+            int best = 0;
+            for (int i = 1; i < jobsByKind.length; i++) {
+                if (jobsByKind[i] > jobsByKind[best]) {
+                    best = i;
+                }
+            }
+            return Kind.values()[best];
+        }
+    }
+
+    // The phrases a job contributes, kept to undo them on update/delete
+    private record JobPhrases(Entry title, Entry company, Entry location, int favorites) {
+    }
+
+    private static final class Node {
+        static final Node[] NO_CHILDREN = new Node[0];
+        static final Entry[] NO_ENTRIES = new Entry[0];
+
+        // Edge label from the parent; first chars of siblings are distinct
+        String label;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        // Phrase whose trie key ends exactly here
+        Entry entry;
+        // Best completions in this subtree, by weight descending
+        Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        // Binary search on first label char; (-(insertion point) - 1) when absent
+        int childIndex(char c) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = child;
+            childCount++;
+        }
+
+        void removeChild(int index) {
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+    }
+
+    private static final class IndexData {
+        final int maxResults;
+        final int favoriteWeight;
+        final Map<String, Entry> entries = new HashMap<>();
+        final Map<Long, JobPhrases> jobs = new HashMap<>();
+        final Node root = new Node("");
+        // Scratch list for rank(), only used under the write lock or by the building thread
+        final Entry[] best;
+
+        IndexData(int maxResults, int favoriteWeight) {
+            this.maxResults = maxResults;
+            this.favoriteWeight = favoriteWeight;
+            this.best = new Entry[maxResults];
+        }
+
+        /**
+         * Count the job's phrases. With touched == null (bulk build) the trie is left alone and
+         * built once by buildTrie(); otherwise changed entries are collected for re-ranking.
+         */
+        void addJob(long id, String title, String company, String location, int favorites, Set<Entry> touched) {
+            JobPhrases phrases = new JobPhrases(
+                    count(title, Kind.TITLE, 1, favorites, touched),
+                    count(company, Kind.COMPANY, 1, favorites, touched),
+                    count(location, Kind.LOCATION, 1, favorites, touched),
+                    favorites);
+            jobs.put(id, phrases);
+        }
+
+        // Favorites of the removed job, so an update keeps its popularity
+        int removeJob(long id, Set<Entry> touched) {
+            JobPhrases phrases = jobs.remove(id);
+            if (phrases == null) {
+                return 0;
+            }
+            uncount(phrases.title(), Kind.TITLE, phrases.favorites(), touched);
+            uncount(phrases.company(), Kind.COMPANY, phrases.favorites(), touched);
+            uncount(phrases.location(), Kind.LOCATION, phrases.favorites(), touched);
+            return phrases.favorites();
+        }
+
+        private Entry count(String text, Kind kind, int jobs, int favorites, Set<Entry> touched) {
+            String key = normalize(text);
+            if (key.isEmpty()) {
+                return null;
+            }
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry(k, text.trim()));
+            entry.jobsByKind[kind.ordinal()] += jobs;
+            entry.favorites += favorites;
+            entry.weight += jobs + (long) favoriteWeight * favorites;
+            if (touched != null) {
+                touched.add(entry);
+            }
+            return entry;
+        }
+
+        private void uncount(Entry entry, Kind kind, int favorites, Set<Entry> touched) {
+            if (entry == null) {
+                return;
+            }
+            entry.jobsByKind[kind.ordinal()]--;
+            entry.favorites -= favorites;
+            entry.weight -= 1 + (long) favoriteWeight * favorites;
+            touched.add(entry);
+        }
+
+        void apply(JobChangedEvent event) {
+            Set<Entry> touched = new LinkedHashSet<>();
+            for (Job job : event.jobs()) {
+                if (job.getId() == null) {
+                    continue;
+                }
+                int favorites = removeJob(job.getId(), touched);
+                if (event.type() != JobChangedEvent.ChangeType.DELETED) {
+                    addJob(job.getId(), job.getTitle(), job.getCompany(), job.getLocation(), favorites, touched);
+                }
+            }
+            // Structural changes first, so node depths are final when collecting what to re-rank
+            for (Entry entry : touched) {
+                boolean dead = entry.jobCount() <= 0;
+                if (dead) {
+                    entries.remove(entry.key);
+                }
+                for (String trieKey : trieKeys(entry.key)) {
+                    List<Node> path = path(trieKey, !dead);
+                    if (path == null) {
+                        continue;
+                    }
+                    Node last = path.get(path.size() - 1);
+                    if (dead) {
+                        last.entry = null;
+                        prune(path);
+                    } else {
+                        last.entry = entry;
+                    }
+                }
+            }
+            // Every node with a touched entry in its subtree is on one of its paths (or was, if pruned).
+            // Re-rank each of them once, deepest first, so children are always ranked before parents
+            Map<Node, Integer> dirty = new HashMap<>();
+            for (Entry entry : touched) {
+                for (String trieKey : trieKeys(entry.key)) {
+                    List<Node> path = walk(trieKey);
+                    for (int depth = 0; depth < path.size(); depth++) {
+                        dirty.put(path.get(depth), depth);
+                    }
+                }
+            }
+            List<Map.Entry<Node, Integer>> order = new ArrayList<>(dirty.entrySet());
+            order.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+            for (Map.Entry<Node, Integer> node : order) {
+                rank(node.getKey());
+            }
+        }
+
+        void buildTrie() {
+            for (Entry entry : entries.values()) {
+                for (String trieKey : trieKeys(entry.key)) {
+                    List<Node> path = path(trieKey, true);
+                    path.get(path.size() - 1).entry = entry;
+                }
+            }
+            rankSubtree(root);
+        }
+
+        private void rankSubtree(Node node) {
+            for (int i = 0; i < node.childCount; i++) {
+                rankSubtree(node.children[i]);
+            }
+            rank(node);
+        }
+
+        /**
+         * Nodes from the root down to the node whose path spells key, splitting edges as needed
+         * when create is set; null if absent and not created.
+         */
+        private List<Node> path(String key, boolean create) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int pos = 0;
+            while (pos < key.length()) {
+                int index = node.childIndex(key.charAt(pos));
+                if (index < 0) {
+                    if (!create) {
+                        return null;
+                    }
+                    Node leaf = new Node(key.substring(pos));
+                    node.insertChild(-index - 1, leaf);
+                    path.add(leaf);
+                    return path;
+                }
+                Node child = node.children[index];
+                int common = commonPrefix(child.label, key, pos);
+                if (common < child.label.length()) {
+                    if (!create) {
+                        return null;
+                    }
+                    // Split the edge; the new middle node covers exactly the old child's subtree
+                    Node middle = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.insertChild(0, child);
+                    middle.top = child.top;
+                    node.children[index] = middle;
+                    child = middle;
+                }
+                node = child;
+                path.add(node);
+                pos += common;
+            }
+            return path;
+        }
+
+        // Existing nodes along key, from the root down to the last fully matched edge
+        private List<Node> walk(String key) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int pos = 0;
+            while (pos < key.length()) {
+                int index = node.childIndex(key.charAt(pos));
+                if (index < 0 || !key.startsWith(node.children[index].label, pos)) {
+                    break;
+                }
+                node = node.children[index];
+                path.add(node);
+                pos += node.label.length();
+            }
+            return path;
+        }
+
+        // Drop empty leaves at the end of the path; collapsed single-child nodes are left as they are
+        private void prune(List<Node> path) {
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node node = path.get(i);
+                if (node.entry != null || node.childCount > 0) {
+                    return;
+                }
+                Node parent = path.get(i - 1);
+                parent.removeChild(parent.childIndex(node.label.charAt(0)));
+                path.remove(i);
+            }
+        }
+
+        Node locate(String prefix) {
+            Node node = root;
+            int pos = 0;
+            while (pos < prefix.length()) {
+                int index = node.childIndex(prefix.charAt(pos));
+                if (index < 0) {
+                    return null;
+                }
+                Node child = node.children[index];
+                int remaining = prefix.length() - pos;
+                if (remaining <= child.label.length()) {
+                    // Prefix ends inside this edge
+                    return child.label.regionMatches(0, prefix, pos, remaining) ? child : null;
+                }
+                if (!prefix.startsWith(child.label, pos)) {
+                    return null;
+                }
+                pos += child.label.length();
+                node = child;
+            }
+            return node;
+        }
+
+        // Node's best completions from its own entry and its children's lists
+        private void rank(Node node) {
+            int size = 0;
+            if (node.entry != null) {
+                size = offer(best, size, node.entry);
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                Entry[] childTop = node.children[i].top;
+                for (Entry candidate : childTop) {
+                    // Child lists are sorted, the rest of this one can't get in
+                    if (size == best.length && !better(candidate, best[size - 1])) {
+                        break;
+                    }
+                    size = offer(best, size, candidate);
+                }
+            }
+            node.top = size == 0 ? Node.NO_ENTRIES : Arrays.copyOf(best, size);
+            Arrays.fill(best, 0, size, null);
+        }
+
+        // Insert into the sorted bounded list unless already present
+        private static int offer(Entry[] best, int size, Entry entry) {
+            for (int i = 0; i < size; i++) {
+                if (best[i] == entry) {
+                    return size;
+                }
+            }
+            if (size == best.length) {
+                if (!better(entry, best[size - 1])) {
+                    return size;
+                }
+                size--;
+            }
+            int i = size;
+            while (i > 0 && better(entry, best[i - 1])) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = entry;
+            return size + 1;
+        }
+
+        private static boolean better(Entry a, Entry b) {
+            if (a.weight != b.weight) {
+                return a.weight > b.weight;
+            }
+            return a.key.compareTo(b.key) < 0;
+        }
+
+        private static int commonPrefix(String label, String key, int offset) {
+            int max = Math.min(label.length(), key.length() - offset);
+            int i = 0;
+            while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * Trie keys of a phrase: the phrase itself, plus its suffixes at the first few word
+         * boundaries. Suffix keys end in NUL + the full phrase, so they never collide with
+         * another phrase that has the same text (normalize() strips NUL from user input).
+         */
+        private static List<String> trieKeys(String key) {
+            List<String> keys = new ArrayList<>(MAX_ANCHORS);
+            keys.add(key);
+            int from = 0;
+            while (keys.size() < MAX_ANCHORS) {
+                int space = key.indexOf(' ', from);
+                if (space < 0 || space + 1 >= key.length()) {
+                    break;
+                }
+                keys.add(key.substring(space + 1) + '\0' + key);
+                from = space + 1;
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.jobtracker.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the job catalog, shared by all backend nodes.
+ * Every committed job write bumps it; list caches put it into their keys,
+ * so a write makes old list entries unreachable instead of flushing the cache.
+ *
+ * Versions come from the catalog_version_seq Postgres sequence (schema-changes.sql): each bump gets a
+ * number no node has used before, even after Redis is flushed or restored. Redis pub/sub only
+ * tells the other nodes about a new version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService implements MessageListener {
+
+    // Counter of the former Redis-based versions, only read once to continue above it
+    private static final String LEGACY_VERSION_KEY = "jobs:catalog:version";
+    private static final String CHANNEL = "jobs:catalog:version";
+
+    private static final String NEXT_SQL = "SELECT nextval('catalog_version_seq')";
+    private static final String CURRENT_SQL =
+            "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM catalog_version_seq";
+    private static final String CONTINUE_FROM_SQL =
+            "SELECT setval('catalog_version_seq', GREATEST(?, last_value)) FROM catalog_version_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        continueFromLegacyVersion();
+        advanceTo(jdbcTemplate.queryForObject(CURRENT_SQL, Long.class));
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // Old cache keys carry Redis counter versions; never hand out one of those again
+    private void continueFromLegacyVersion() {
+        String stored;
+        try {
+            stored = stringRedisTemplate.opsForValue().get(LEGACY_VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("Could not read legacy catalog version from Redis: {}", e.getMessage());
+            return;
+        }
+        if (stored != null) {
+            jdbcTemplate.queryForObject(CONTINUE_FROM_SQL, Long.class, Long.parseLong(stored));
+        }
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Advance the version after a committed catalog change and tell the other nodes.
+     * If the sequence can't be read the version stays put, list entries then expire with their TTL.
+     */
+    public long bump() {
+        long next;
+        try {
+            next = jdbcTemplate.queryForObject(NEXT_SQL, Long.class);
+        } catch (DataAccessException e) {
+            log.error("Could not bump catalog version: {}", e.getMessage());
+            return version.get();
+        }
+        advanceTo(next);
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, Long.toString(next));
+        } catch (Exception e) {
+            // Other nodes catch up with the next version they see
+            log.warn("Could not publish catalog version {}: {}", next, e.getMessage());
+        }
+        return next;
+    }
+
+    private void advanceTo(long value) {
+        version.accumulateAndGet(value, Math::max);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            advanceTo(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed catalog version message");
+        }
+    }
+}
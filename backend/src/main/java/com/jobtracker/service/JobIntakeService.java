@@ -0,0 +1,11 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.IntakeReport;
+import com.jobtracker.entity.Job;
+
+import java.util.List;
+
+public interface JobIntakeService {
+    // Bulk insert scraped jobs, skipping duplicate URLs; commits per chunk
+    IntakeReport intakeJobs(List<Job> jobs);
+}
@@ -1,19 +1,42 @@
 package com.jobtracker.service;
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.dto.HybridSearchResult;
+import com.jobtracker.dto.JobChangePage;
+import com.jobtracker.dto.JobPage;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.dto.Suggestion;
 import com.jobtracker.entity.Job;
 import com.jobtracker.entity.Users;
 import com.jobtracker.entity.UserFavorite;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface JobService {
-    // Public access methods
-    List<Job> getAllPublicJobs();
+    // Public access methods; listings return summaries, only getJobById has the description
+    List<JobSummary> getAllPublicJobs();
+    // Full entities including description, for internal consumers (AI service sync)
+    List<Job> getAllJobsWithDetails();
+    // Filtered by the facet selection; facet counts of the whole filtered catalog when withFacets
+    JobPage getJobsPage(Long cursor, int size, FacetFilter filter, boolean withFacets);
     Job getJobById(Long id);
-    List<Job> searchHybridJobs(String query);
+    HybridSearchResult searchHybridJobs(String query);
+    // Hybrid search hits narrowed to the facet selection, with facet counts over the hits when withFacets
+    HybridSearchResult searchHybridJobs(String query, FacetFilter filter, boolean withFacets);
+    // Typeahead completions over titles, companies and locations, best first
+    List<Suggestion> suggest(String prefix, int limit);
+    // Stream every job to the consumer without holding the catalog in memory
+    void exportAllJobs(Consumer<Job> consumer);
+    // Job changes after the cursor (null = from the beginning), for incremental vector store sync
+    JobChangePage getJobChanges(String since, int limit);
     // Authentication required methods
-    List<Job> getUserFavorites(Users user);
+    List<JobSummary> getUserFavorites(Users user);
     void addToFavorites(Users user, Long jobId, String notes);
     void removeFromFavorites(Users user, Long jobId);
+    // Favorite flag for each of the given job ids
+    Map<Long, Boolean> getFavoriteFlags(Users user, List<Long> jobIds);
+    List<Long> getFavoriteJobIds(Users user);
 
     Job createJob(Job job);
     List<Job> createJobsBatch(List<Job> jobs);
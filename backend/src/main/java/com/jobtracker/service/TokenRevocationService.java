@@ -0,0 +1,164 @@
+package com.jobtracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked JWTs (by jti) and users (all tokens issued before a point in time), checked on every
+ * authenticated request without leaving the JVM.
+ * Redis holds the durable copy (zset of jti -> expiry, hash of email -> revokedAt) so new nodes
+ * can load it, and a pub/sub channel pushes new revocations to the running nodes.
+ * Entries disappear from memory once the tokens they cover have expired anyway.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService implements MessageListener {
+
+    private static final String TOKENS_KEY = "jwt:revoked:tokens";
+    private static final String USERS_KEY = "jwt:revoked:users";
+    private static final String CHANNEL = "jwt:revocations";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final UserService userService;
+    private final long jwtExpirationMs;
+
+    // jti -> token expiry (epoch millis)
+    private final Cache<String, Long> revokedTokens;
+    // email -> revokedAt (epoch millis); tokens issued before that are rejected
+    private final Cache<String, Long> revokedUsers;
+
+    public TokenRevocationService(StringRedisTemplate stringRedisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  UserService userService,
+                                  @Value("${jwt.expiration}") long jwtExpirationMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.userService = userService;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.revokedTokens = Caffeine.newBuilder().expireAfter(expiringAt(0)).build();
+        this.revokedUsers = Caffeine.newBuilder().expireAfter(expiringAt(jwtExpirationMs)).build();
+    }
+
+    // Entry lives until (value + offset) epoch millis
+    private static Expiry<String, Long> expiringAt(long offsetMs) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Long value, long currentTime) {
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value + offsetMs - System.currentTimeMillis()));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Long value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, Long value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        try {
+            stringRedisTemplate.opsForZSet().removeRangeByScore(TOKENS_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<ZSetOperations.TypedTuple<String>> tokens =
+                    stringRedisTemplate.opsForZSet().rangeByScoreWithScores(TOKENS_KEY, now, Double.POSITIVE_INFINITY);
+            if (tokens != null) {
+                tokens.forEach(t -> revokedTokens.put(t.getValue(), t.getScore().longValue()));
+            }
+            Map<Object, Object> users = stringRedisTemplate.opsForHash().entries(USERS_KEY);
+            users.forEach((email, revokedAt) -> {
+                long at = Long.parseLong((String) revokedAt);
+                if (at + jwtExpirationMs > now) {
+                    revokedUsers.put((String) email, at);
+                } else {
+                    stringRedisTemplate.opsForHash().delete(USERS_KEY, email);
+                }
+            });
+            log.info("Loaded {} revoked tokens and {} revoked users", revokedTokens.estimatedSize(), revokedUsers.estimatedSize());
+        } catch (Exception e) {
+            log.warn("Could not load JWT revocations from Redis: {}", e.getMessage());
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public boolean isRevoked(String jti, String email, Date issuedAt) {
+        if (jti != null && revokedTokens.getIfPresent(jti) != null) {
+            return true;
+        }
+        Long userRevokedAt = revokedUsers.getIfPresent(email);
+        // iat has second precision: a token from the same second as the revocation is rejected too
+        return userRevokedAt != null && (issuedAt == null || issuedAt.getTime() <= userRevokedAt);
+    }
+
+    /**
+     * Revoke one token (sign-out). Only tokens with a jti can be revoked individually.
+     */
+    public void revokeToken(String jti, Date expiration) {
+        long expiresAt = expiration.getTime();
+        revokedTokens.put(jti, expiresAt);
+        try {
+            stringRedisTemplate.opsForZSet().add(TOKENS_KEY, jti, expiresAt);
+            stringRedisTemplate.convertAndSend(CHANNEL, "t|" + expiresAt + "|" + jti);
+        } catch (Exception e) {
+            log.warn("Could not share token revocation through Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Revoke every token of a user issued up to now, e.g. after a role change or password reset.
+     */
+    public void revokeUser(String email) {
+        long now = System.currentTimeMillis();
+        applyUserRevocation(email, now);
+        try {
+            stringRedisTemplate.opsForHash().put(USERS_KEY, email, Long.toString(now));
+            stringRedisTemplate.convertAndSend(CHANNEL, "u|" + now + "|" + email);
+        } catch (Exception e) {
+            log.warn("Could not share user revocation through Redis: {}", e.getMessage());
+        }
+    }
+
+    private void applyUserRevocation(String email, long revokedAt) {
+        revokedUsers.asMap().merge(email, revokedAt, Math::max);
+        userService.evictPrincipal(email);
+    }
+
+    // Message format: "t|<expiresAt>|<jti>" or "u|<revokedAt>|<email>"
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        try {
+            if (parts.length == 3 && parts[0].equals("t")) {
+                revokedTokens.put(parts[2], Long.parseLong(parts[1]));
+            } else if (parts.length == 3 && parts[0].equals("u")) {
+                applyUserRevocation(parts[2], Long.parseLong(parts[1]));
+            } else {
+                log.warn("Ignoring malformed revocation message");
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message");
+        }
+    }
+}
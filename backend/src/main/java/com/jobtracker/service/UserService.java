@@ -1,10 +1,12 @@
 package com.jobtracker.service;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.jobtracker.entity.Users;
 import com.jobtracker.repository.UsersRepository;
 import com.jobtracker.service.impl.UsersDetailsImpl;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,14 +14,30 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 public class UserService implements UserDetailsService {
     private final UsersRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    // email -> principal (id, email, role; no password/resume), shared with JwtAuthFilter
+    private final Cache<String, Users> principalCache;
+
+    public UserService(UsersRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       @Value("${jwt.principal-cache.ttl:5m}") Duration principalTtl,
+                       @Value("${jwt.principal-cache.max-size:10000}") long principalMaxSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.principalCache = Caffeine.newBuilder()
+                .expireAfterWrite(principalTtl)
+                .maximumSize(principalMaxSize)
+                .build();
+    }
+
+    // Used by the login flow (needs the password hash), so always read from the database
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
@@ -27,9 +45,30 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
+    /**
+     * Principal for an authenticated request, served from the principal cache.
+     * Only hits the database for tokens without id/role claims on a cache miss.
+     */
+    public UsersDetailsImpl loadPrincipal(String email) {
+        Users principal = principalCache.get(email, key -> userRepository.findByEmail(key)
+                .map(UserService::toPrincipal)
+                .orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+        return new UsersDetailsImpl(principal);
+    }
+
+    public void evictPrincipal(String email) {
+        principalCache.invalidate(email);
+    }
+
     public Users getUserFromAuthentication(org.springframework.security.core.Authentication authentication) {
-        return userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // JwtAuthFilter already resolved the user (id/email/role), no need to query again
+        if (authentication.getPrincipal() instanceof UsersDetailsImpl details && details.getId() != null) {
+            return details.getUser();
+        }
+        return loadPrincipal(authentication.getName()).getUser();
     }
 
     public boolean existsByEmail(String email) {
@@ -38,11 +77,21 @@ public class UserService implements UserDetailsService {
 
     public Users saveUser(Users user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        Users saved = userRepository.save(user);
+        evictPrincipal(saved.getEmail());
+        return saved;
     }
     
     public Users findByUsername(String username) {
         return userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
-}
\ No newline at end of file
+
+    private static Users toPrincipal(Users user) {
+        Users principal = new Users();
+        principal.setId(user.getId());
+        principal.setEmail(user.getEmail());
+        principal.setRole(user.getRole());
+        return principal;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.dto.FavoriteIds;
+import com.jobtracker.event.FavoritesChangedEvent;
+import com.jobtracker.repository.UserFavoriteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-user favorite job id sets, served from the two-level cache (local L1 + Redis).
+ * Entries are evicted on all nodes after a favorites write commits and reloaded with one indexed query.
+ */
+@Component
+@RequiredArgsConstructor
+public class FavoriteIdsCache {
+
+    private final UserFavoriteRepository userFavoriteRepository;
+
+    @Cacheable(value = "favoriteIds", key = "'u:' + #userId")
+    public FavoriteIds get(Long userId) {
+        return FavoriteIds.of(userFavoriteRepository.findJobIdsByUserId(userId).stream()
+                .mapToLong(Long::longValue)
+                .toArray());
+    }
+
+    @CacheEvict(value = "favoriteIds", key = "'u:' + #event.userId()")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoritesChanged(FavoritesChangedEvent event) {
+    }
+}
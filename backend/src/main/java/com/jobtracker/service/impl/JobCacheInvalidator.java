@@ -0,0 +1,42 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.service.CatalogVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Precise cache maintenance for job writes, run after commit so a concurrent reader can't
+ * re-cache the pre-commit row:
+ * - updated jobs overwrite their own "job:{id}" entry, deleted jobs evict it
+ * - list entries ("jobLists" cache) are keyed by catalog version, which is bumped here
+ */
+@Component
+@RequiredArgsConstructor
+public class JobCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final CatalogVersionService catalogVersionService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        Cache jobs = cacheManager.getCache("jobs");
+        if (jobs != null && event.type() != JobChangedEvent.ChangeType.CREATED) {
+            for (Job job : event.jobs()) {
+                if (job.getId() == null) {
+                    continue;
+                }
+                if (event.type() == JobChangedEvent.ChangeType.UPDATED) {
+                    jobs.put("job:" + job.getId(), job);
+                } else {
+                    jobs.evict("job:" + job.getId());
+                }
+            }
+        }
+        catalogVersionService.bump();
+    }
+}
@@ -0,0 +1,38 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes job changes to the job_change outbox. A plain (not transactional) listener on purpose:
+ * it runs inside the publishing JobService / intake transaction, so the change row commits or
+ * rolls back together with the job write itself.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobChangeOutbox {
+
+    private final JobChangeRepository jobChangeRepository;
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.warn("Job change published outside a transaction, outbox row is not atomic with the write");
+        }
+        List<Long> ids = event.jobs().stream()
+                .map(Job::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        jobChangeRepository.append(event.type().name(), ids);
+    }
+}
@@ -0,0 +1,84 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.repository.JobChangeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes job_change rows older than app.changes.retention, in batches so no delete holds locks for long.
+ * Feed consumers must poll more often than the retention: a cursor older than that may have missed
+ * changes and has to be dropped for a full re-sync. Safe to run on every node at once.
+ */
+@Slf4j
+@Component
+public class JobChangeRetention {
+
+    private final JobChangeRepository jobChangeRepository;
+    private final Duration retention;
+    private final Duration cleanupInterval;
+    private final int batchSize;
+
+    private ScheduledExecutorService cleaner;
+
+    public JobChangeRetention(JobChangeRepository jobChangeRepository,
+                              @Value("${app.changes.retention:7d}") Duration retention,
+                              @Value("${app.changes.cleanup-interval:1h}") Duration cleanupInterval,
+                              @Value("${app.changes.cleanup-batch-size:10000}") int batchSize) {
+        this.jobChangeRepository = jobChangeRepository;
+        this.retention = retention;
+        this.cleanupInterval = cleanupInterval;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCleaning() {
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-change-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = cleanupInterval.toMillis();
+        cleaner.scheduleWithFixedDelay(this::purge, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+    }
+
+    /**
+     * Delete expired change rows batch by batch until a batch comes back short.
+     * @return number of rows deleted
+     */
+    public int purge() {
+        long start = System.currentTimeMillis();
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = jobChangeRepository.deleteOlderThan(retention, batchSize);
+                deleted += batch;
+            } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            // Keep the schedule alive, the next run picks up where this one stopped
+            log.error("Job change cleanup failed after {} rows: {}", deleted, e.getMessage());
+            return deleted;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} job changes older than {} in {}ms", deleted, retention,
+                    System.currentTimeMillis() - start);
+        }
+        return deleted;
+    }
+}
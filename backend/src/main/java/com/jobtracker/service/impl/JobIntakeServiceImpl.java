@@ -0,0 +1,164 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.dto.IntakeReport;
+import com.jobtracker.dto.IntakeResult;
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobBulkRepository;
+import com.jobtracker.service.JobIntakeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based bulk intake:
+ * 1. validate and drop duplicates inside the request
+ * 2. Bloom pre-filter, then chunked "url IN (...)" lookups only for URLs that might exist
+ * 3. one "INSERT ... SELECT unnest(...) ON CONFLICT (url) DO NOTHING RETURNING id" per chunk, committed per chunk
+ */
+@Slf4j
+@Service
+public class JobIntakeServiceImpl implements JobIntakeService {
+
+    private final JobBulkRepository jobBulkRepository;
+    private final KnownUrlFilter knownUrlFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public JobIntakeServiceImpl(JobBulkRepository jobBulkRepository,
+                                KnownUrlFilter knownUrlFilter,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.intake.chunk-size:1000}") int chunkSize) {
+        this.jobBulkRepository = jobBulkRepository;
+        this.knownUrlFilter = knownUrlFilter;
+        this.eventPublisher = eventPublisher;
+        // Each chunk commits on its own, even if the caller has a transaction open
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public IntakeReport intakeJobs(List<Job> jobs) {
+        long start = System.nanoTime();
+        IntakeResult[] results = new IntakeResult[jobs.size()];
+
+        // 1. Validation and in-request dedupe
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> seenUrls = new HashSet<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            String url = job.getUrl() == null ? null : job.getUrl().trim();
+            if (url == null || url.isEmpty()) {
+                results[i] = new IntakeResult(i, job.getUrl(), IntakeResult.Status.INVALID, null, "Job URL cannot be empty");
+                continue;
+            }
+            job.setUrl(url);
+            job.setId(null);
+            if (!seenUrls.add(url)) {
+                results[i] = new IntakeResult(i, url, IntakeResult.Status.DUPLICATE, null, "Duplicate URL in request");
+                continue;
+            }
+            candidates.add(i);
+        }
+
+        // 2. Look up only the URLs the pre-filter can't rule out
+        List<String> maybeKnown = new ArrayList<>();
+        for (int i : candidates) {
+            String url = jobs.get(i).getUrl();
+            if (knownUrlFilter.mightBeKnown(url)) {
+                maybeKnown.add(url);
+            }
+        }
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < maybeKnown.size(); from += chunkSize) {
+            existing.addAll(jobBulkRepository.findExistingUrls(
+                    maybeKnown.subList(from, Math.min(from + chunkSize, maybeKnown.size()))));
+        }
+
+        List<Integer> toInsert = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            String url = jobs.get(i).getUrl();
+            if (existing.contains(url)) {
+                results[i] = new IntakeResult(i, url, IntakeResult.Status.DUPLICATE, null, "URL already exists");
+            } else {
+                toInsert.add(i);
+            }
+        }
+
+        // 3. Insert in chunks, one statement and one commit per chunk
+        List<Job> insertedJobs = new ArrayList<>(toInsert.size());
+        for (int from = 0; from < toInsert.size(); from += chunkSize) {
+            List<Integer> chunk = toInsert.subList(from, Math.min(from + chunkSize, toInsert.size()));
+            List<Job> chunkJobs = chunk.stream().map(jobs::get).toList();
+            try {
+                Map<String, Long> ids = chunkTransaction.execute(status -> {
+                    Map<String, Long> inserted = jobBulkRepository.insertIgnoringDuplicates(chunkJobs);
+                    List<Job> saved = chunkJobs.stream().filter(job -> inserted.containsKey(job.getUrl())).toList();
+                    saved.forEach(job -> job.setId(inserted.get(job.getUrl())));
+                    if (!saved.isEmpty()) {
+                        eventPublisher.publishEvent(JobChangedEvent.created(saved));
+                    }
+                    return inserted;
+                });
+                for (int i : chunk) {
+                    Job job = jobs.get(i);
+                    Long id = ids.get(job.getUrl());
+                    if (id != null) {
+                        knownUrlFilter.add(job.getUrl());
+                        insertedJobs.add(job);
+                        results[i] = new IntakeResult(i, job.getUrl(), IntakeResult.Status.INSERTED, id, null);
+                    } else {
+                        // Lost a race with a concurrent insert of the same URL
+                        results[i] = new IntakeResult(i, job.getUrl(), IntakeResult.Status.DUPLICATE, null, "URL already exists");
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Bulk intake chunk of {} jobs failed: {}", chunk.size(), e.getMessage());
+                for (int i : chunk) {
+                    jobs.get(i).setId(null);
+                    results[i] = new IntakeResult(i, jobs.get(i).getUrl(), IntakeResult.Status.FAILED, null, e.getMessage());
+                }
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        IntakeReport report = buildReport(results, insertedJobs, elapsedNanos);
+        log.info("Bulk intake: received={}, inserted={}, duplicates={}, invalid={}, failed={} in {}ms ({} rows/s)",
+                report.getReceived(), report.getInserted(), report.getDuplicates(), report.getInvalid(),
+                report.getFailed(), report.getElapsedMs(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private static IntakeReport buildReport(IntakeResult[] results, List<Job> insertedJobs, long elapsedNanos) {
+        int duplicates = 0;
+        int invalid = 0;
+        int failed = 0;
+        for (IntakeResult result : results) {
+            switch (result.getStatus()) {
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+                case FAILED -> failed++;
+                default -> {
+                }
+            }
+        }
+        long elapsedMs = elapsedNanos / 1_000_000;
+        long rowsPerSecond = elapsedNanos == 0 ? 0 : results.length * 1_000_000_000L / elapsedNanos;
+        return new IntakeReport(results.length, insertedJobs.size(), duplicates, invalid, failed,
+                elapsedMs, rowsPerSecond, Arrays.asList(results), insertedJobs);
+    }
+}
@@ -1,181 +1,435 @@
 package com.jobtracker.service.impl;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import com.jobtracker.client.AiCircuitBreaker;
+import com.jobtracker.client.AiServiceClient;
+import com.jobtracker.dto.FacetCount;
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.dto.FavoriteIds;
+import com.jobtracker.dto.HybridSearchResult;
+import com.jobtracker.dto.JobChangePage;
+import com.jobtracker.dto.JobDelta;
+import com.jobtracker.dto.JobPage;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.dto.Suggestion;
 import com.jobtracker.entity.Job;
 import com.jobtracker.entity.Users;
-import com.jobtracker.entity.UserFavorite;
+import com.jobtracker.event.FavoritesChangedEvent;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobChangeRepository;
 import com.jobtracker.repository.JobRepository;
+import com.jobtracker.repository.JobSpecifications;
 import com.jobtracker.repository.UserFavoriteRepository;
+import com.jobtracker.search.FacetIndex;
+import com.jobtracker.search.JobSearchIndex;
+import com.jobtracker.search.RankFusion;
+import com.jobtracker.search.SearchResultCache;
+import com.jobtracker.search.SemanticIndex;
+import com.jobtracker.search.SuggestIndex;
+import com.jobtracker.service.JobIntakeService;
 import com.jobtracker.service.JobService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.data.jpa.domain.Specification;
-import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.EntityManager;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// No class-level @Transactional: hybrid search waits on the AI service and must not pin a
+// JDBC connection meanwhile. Reads use the repositories' own short transactions.
+@Slf4j
 @Service
-@RequiredArgsConstructor
-@Transactional
 public class JobServiceImpl implements JobService {
 
+    // Why a hybrid search came back without the AI leg, "none" when it is complete
+    private static final List<String> PARTIAL_REASONS =
+            List.of("none", "breaker_open", "rejected", "budget", "ai_error", "interrupted");
+
     private final JobRepository jobRepository;
     private final UserFavoriteRepository userFavoriteRepository;
+    private final JobChangeRepository jobChangeRepository;
+    // Absent with app.search.lexical-backend=postgres
+    private final ObjectProvider<JobSearchIndex> jobSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final JobIntakeService jobIntakeService;
+    private final AiServiceClient aiServiceClient;
+    private final SemanticIndex semanticIndex;
+    private final SuggestIndex suggestIndex;
+    private final FacetIndex facetIndex;
+    private final FavoriteIdsCache favoriteIdsCache;
+    private final AiCircuitBreaker aiCircuitBreaker;
+    private final ObservationRegistry observationRegistry;
+    private final Executor searchExecutor;
+
+    // Registered once, search is a hot path
+    private final DistributionSummary resultSizes;
+    private final Counter emptyResults;
+    private final Map<String, Counter> requestsByReason = new HashMap<>();
+
+    public JobServiceImpl(JobRepository jobRepository,
+                          UserFavoriteRepository userFavoriteRepository,
+                          JobChangeRepository jobChangeRepository,
+                          ObjectProvider<JobSearchIndex> jobSearchIndex,
+                          SearchResultCache searchResultCache,
+                          ApplicationEventPublisher eventPublisher,
+                          EntityManager entityManager,
+                          JobIntakeService jobIntakeService,
+                          AiServiceClient aiServiceClient,
+                          SemanticIndex semanticIndex,
+                          SuggestIndex suggestIndex,
+                          FacetIndex facetIndex,
+                          FavoriteIdsCache favoriteIdsCache,
+                          AiCircuitBreaker aiCircuitBreaker,
+                          MeterRegistry meterRegistry,
+                          ObservationRegistry observationRegistry,
+                          @Qualifier("searchExecutor") Executor searchExecutor) {
+        this.jobRepository = jobRepository;
+        this.userFavoriteRepository = userFavoriteRepository;
+        this.jobChangeRepository = jobChangeRepository;
+        this.jobSearchIndex = jobSearchIndex;
+        this.searchResultCache = searchResultCache;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.jobIntakeService = jobIntakeService;
+        this.aiServiceClient = aiServiceClient;
+        this.semanticIndex = semanticIndex;
+        this.suggestIndex = suggestIndex;
+        this.facetIndex = facetIndex;
+        this.favoriteIdsCache = favoriteIdsCache;
+        this.aiCircuitBreaker = aiCircuitBreaker;
+        this.observationRegistry = observationRegistry;
+        this.searchExecutor = searchExecutor;
+
+        this.resultSizes = DistributionSummary.builder("search.hybrid.results")
+                .description("Jobs returned per hybrid search")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.emptyResults = Counter.builder("search.hybrid.empty").register(meterRegistry);
+        for (String reason : PARTIAL_REASONS) {
+            requestsByReason.put(reason, Counter.builder("search.hybrid.requests")
+                    .tag("outcome", "none".equals(reason) ? "complete" : "partial")
+                    .tag("reason", reason)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    @Cacheable(value = "jobLists", key = "'summaries:v' + @catalogVersionService.current()")
+    public List<JobSummary> getAllPublicJobs() {
+        return jobRepository.findAllSummaries();
+    }
 
+    // Served from memory only; empty until the suggest index has been built
     @Override
-    @Cacheable(value = "jobs", key = "'all'")
-    public List<Job> getAllPublicJobs() {
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return suggestIndex.suggest(prefix, limit);
+    }
+
+    // Not cached: the full catalog with descriptions is only pulled by the AI service re-sync
+    @Override
+    @Transactional(readOnly = true)
+    public List<Job> getAllJobsWithDetails() {
         return jobRepository.findAll();
     }
 
-    // Inject RestTemplate (recommend defining Bean in Config class, or directly new here)
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllJobs(Consumer<Job> consumer) {
+        try (Stream<Job> jobs = jobRepository.streamAll()) {
+            jobs.forEach(job -> {
+                consumer.accept(job);
+                // Detach as we go so the persistence context stays empty
+                entityManager.detach(job);
+            });
+        }
+    }
 
-    // Python AI service URL, read from config file, default localhost:5001
-    @Value("${ai.service.url:http://localhost:5001}")
-    private String aiServiceUrl;
+    /**
+     * Change feed page: cursor is "txid:id" of the last served change row.
+     * Changes of the same job within the page collapse into one delta at its latest position.
+     */
+    @Override
+    public JobChangePage getJobChanges(String since, int limit) {
+        long txid = 0;
+        long id = 0;
+        if (since != null && !since.isBlank()) {
+            String[] parts = since.trim().split(":");
+            try {
+                txid = Long.parseLong(parts[0]);
+                id = Long.parseLong(parts[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid change cursor: " + since);
+            }
+        }
+        List<JobChangeRepository.Row> rows = jobChangeRepository.findAfter(txid, id, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        Map<Long, JobDelta> deltas = new LinkedHashMap<>();
+        for (JobChangeRepository.Row row : rows) {
+            deltas.remove(row.jobId());
+            deltas.put(row.jobId(), row.current());
+            txid = row.txid();
+            id = row.id();
+        }
+        return new JobChangePage(new ArrayList<>(deltas.values()), txid + ":" + id, hasMore);
+    }
 
-    // --- 1. Keep original SQL search as underlying capability (change to private or keep public for internal calls) ---
-    public List<Job> searchJobsSql(String query) {
+    /**
+     * Keyset pagination on id: each page is "id > cursor ORDER BY id LIMIT size",
+     * so cost doesn't grow with page depth. Filters are exact matches.
+     * A page requested with facets isn't cached while the facet index is still building.
+     */
+    @Override
+    @Cacheable(value = "jobLists",
+            key = "'summary-page:v' + @catalogVersionService.current() + ':' + #cursor + ':' + #size + ':' + #filter.cacheKey() + ':' + #withFacets",
+            unless = "#withFacets && #result.facets == null")
+    public JobPage getJobsPage(Long cursor, int size, FacetFilter filter, boolean withFacets) {
+        Specification<Job> spec = JobSpecifications.page(cursor, filter);
+
+        // Fetch one extra row to know whether there is a next page
+        List<JobSummary> rows = jobRepository.findSummaries(spec, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<JobSummary> items = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        // Counts come from the in-memory bitmaps; left out until the facet index is built
+        Map<String, List<FacetCount>> facets = withFacets && facetIndex.isReady()
+                ? facetIndex.counts(null, filter)
+                : null;
+        return new JobPage(items, nextCursor, hasMore, facets);
+    }
+
+    // End-to-end time a hybrid search may take before answering without the AI leg
+    @Value("${app.search.latency-budget:800ms}")
+    private Duration searchLatencyBudget;
+
+    // Rank fusion: weight and RRF constant k per retriever, number of fused results kept
+    @Value("${app.search.fusion.lexical.weight:1.0}")
+    private double lexicalFusionWeight;
+    @Value("${app.search.fusion.lexical.k:60}")
+    private int lexicalFusionK;
+    @Value("${app.search.fusion.semantic.weight:1.0}")
+    private double semanticFusionWeight;
+    @Value("${app.search.fusion.semantic.k:60}")
+    private int semanticFusionK;
+    @Value("${app.search.fusion.top-k:100}")
+    private int fusionTopK;
+
+    // Number of semantic hits requested from the AI service
+    @Value("${ai.client.search-top-k:20}")
+    private int semanticTopK;
+
+    // Max number of lexical hits passed into RRF fusion
+    @Value("${app.search.lexical-limit:100}")
+    private int lexicalLimit;
+
+    // Lexical retriever: "memory" (BM25 index) or "postgres" (tsvector + trigram, see schema-search.sql)
+    @Value("${app.search.lexical-backend:memory}")
+    private String lexicalBackend;
+
+    // --- 1. Lexical search: BM25 ranked IDs from the in-memory index, or Postgres full-text search ---
+    public List<Long> searchJobIdsLexical(String query) {
+        if ("postgres".equals(lexicalBackend)) {
+            return jobRepository.searchIdsFullText(query.trim(), lexicalLimit);
+        }
+        JobSearchIndex index = jobSearchIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            return index.search(query, lexicalLimit);
+        }
+        // Index still loading after startup: fall back to the (unranked) LIKE scan
+        return searchJobsSql(query).stream()
+                .map(JobSummary::getId)
+                .limit(lexicalLimit)
+                .toList();
+    }
+
+    // Original SQL search, only used as fallback while the search index is not ready
+    public List<JobSummary> searchJobsSql(String query) {
         if (query == null || query.trim().isEmpty()) {
-            return jobRepository.findAll();
+            return jobRepository.findAllSummaries();
         }
-        Specification<Job> spec = (root, cq, cb) -> {
-            String searchTerm = "%" + query.toLowerCase().trim() + "%";
-            return cb.or(
-                    cb.like(cb.lower(root.get("title")), searchTerm),
-                    cb.like(cb.lower(root.get("company")), searchTerm),
-                    cb.like(cb.lower(root.get("location")), searchTerm)
-            );
-        };
-        return jobRepository.findAll(spec);
+        return jobRepository.findSummaries(JobSpecifications.keyword(query), -1);
     }
 
     // --- 2. New: Hybrid search (core interview highlight) ---
+    // Observed as "search.hybrid" (total, including cache hits) with one "search.hybrid.phase" child per
+    // pipeline phase; each observation is both a timer and a trace span
     @Override
-    // Note: Hybrid search usually doesn't recommend caching entire results, because it involves AI and personalization, or set a shorter expiration time
-    public List<Job> searchHybridJobs(String query) {
+    // Results are cached briefly per normalized query; identical concurrent queries share one search
+    public HybridSearchResult searchHybridJobs(String query) {
         if (query == null || query.trim().isEmpty()) {
-            return getAllPublicJobs();
+            return HybridSearchResult.complete(getAllPublicJobs());
         }
+        HybridSearchResult result = Observation.createNotStarted("search.hybrid", observationRegistry)
+                .observe(() -> searchResultCache.get(query, this::searchHybridUncached));
+        resultSizes.record(result.getJobs().size());
+        if (result.getJobs().isEmpty()) {
+            emptyResults.increment();
+        }
+        return result;
+    }
 
-        long start = System.currentTimeMillis();
-
-        // [Interview highlight] Async orchestration: simultaneously initiate SQL and AI requests
-
-        // Task A: SQL search
-        CompletableFuture<List<Job>> sqlTask = CompletableFuture.supplyAsync(() -> {
-            return searchJobsSql(query);
-        }).exceptionally(ex -> {
-            System.err.println("SQL Search failed: " + ex.getMessage());
-            return Collections.emptyList();
-        });
-
-        // Task B: AI semantic search
-        CompletableFuture<List<Long>> aiTask = CompletableFuture.supplyAsync(() -> {
-            return fetchJobIdsFromAI(query);
-        }).exceptionally(ex -> {
-            System.err.println("AI Service failed (Graceful Degradation): " + ex.getMessage());
-            return Collections.emptyList(); // [Interview highlight] Degradation strategy: AI failure doesn't affect main flow
-        });
+    /**
+     * Facets on top of the cached hybrid search: the fused hits are narrowed to the selection,
+     * and counts are taken over all hits (so other values of a selected facet stay visible).
+     */
+    @Override
+    public HybridSearchResult searchHybridJobs(String query, FacetFilter filter, boolean withFacets) {
+        HybridSearchResult result = searchHybridJobs(query);
+        if (filter.isEmpty() && !withFacets) {
+            return result;
+        }
+        List<JobSummary> jobs = filter.isEmpty()
+                ? result.getJobs()
+                : result.getJobs().stream().filter(filter::matches).toList();
+        Map<String, List<FacetCount>> facets = null;
+        if (withFacets && facetIndex.isReady()) {
+            // A blank query returns the whole catalog, counted straight from the bitmaps
+            List<Long> hitIds = query == null || query.trim().isEmpty()
+                    ? null
+                    : result.getJobs().stream().map(JobSummary::getId).toList();
+            facets = facetIndex.counts(hitIds, filter);
+        }
+        // The cached result is shared, build a new one
+        return new HybridSearchResult(jobs, result.isPartial(), result.getPartialReason(), facets);
+    }
 
-        // Wait for both to complete
-        CompletableFuture.allOf(sqlTask, aiTask).join();
+    private HybridSearchResult searchHybridUncached(String query) {
+        long start = System.nanoTime();
+        long deadline = start + searchLatencyBudget.toNanos();
+        // Parent of the AI phase, which runs on another thread
+        Observation search = observationRegistry.getCurrentObservation();
+
+        // [Interview highlight] Async orchestration: AI request runs on the bounded search executor
+        // while the lexical part runs on the request thread. Skipped entirely while the breaker is open.
+        CompletableFuture<List<Long>> aiTask = null;
+        String partialReason = null;
+        if (!aiCircuitBreaker.tryAcquirePermission()) {
+            partialReason = "breaker_open";
+        } else {
+            try {
+                aiTask = CompletableFuture.supplyAsync(
+                        () -> phase("ai", search, () -> fetchJobIdsFromAI(query)), searchExecutor);
+            } catch (RejectedExecutionException ex) {
+                aiCircuitBreaker.releasePermission();
+                partialReason = "rejected";
+            }
+        }
 
+        List<Long> sqlJobIds;
         try {
-            List<Job> sqlJobs = sqlTask.get();
-            List<Long> aiJobIds = aiTask.get();
+            sqlJobIds = phase("lexical", search, () -> searchJobIdsLexical(query));
+        } catch (RuntimeException ex) {
+            log.warn("Lexical search failed: {}", ex.getMessage());
+            sqlJobIds = Collections.emptyList();
+        }
 
-            // If AI has no results, directly return SQL results (avoid calculating RRF)
-            if (aiJobIds.isEmpty()) {
-                return sqlJobs;
+        // [Interview highlight] Latency budget: wait for the AI leg only for what is left of the budget,
+        // then answer with lexical results flagged as partial. A late AI answer still feeds the breaker.
+        List<Long> aiJobIds = Collections.emptyList();
+        if (aiTask != null) {
+            try {
+                aiJobIds = aiTask.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                partialReason = "budget";
+            } catch (ExecutionException ex) {
+                // [Interview highlight] Degradation strategy: AI failure doesn't affect main flow
+                log.warn("AI service failed, answering lexical-only: {}", ex.getCause().getMessage());
+                partialReason = "ai_error";
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                partialReason = "interrupted";
             }
+        }
+        requestsByReason.get(partialReason == null ? "none" : partialReason).increment();
+
+        // If AI has no results, directly return lexical results (avoid calculating RRF)
+        if (aiJobIds.isEmpty()) {
+            List<Long> lexicalIds = sqlJobIds;
+            List<JobSummary> lexicalJobs = phase("hydration", search, () -> findAllInOrder(lexicalIds));
+            return partialReason == null
+                    ? HybridSearchResult.complete(lexicalJobs)
+                    : HybridSearchResult.partial(lexicalJobs, partialReason);
+        }
 
-            // [Interview highlight] Execute RRF fusion algorithm
-            List<Job> rankedJobs = applyRRF(sqlJobs, aiJobIds);
+        // [Interview highlight] Execute RRF fusion algorithm
+        List<JobSummary> rankedJobs = applyRRF(sqlJobIds, aiJobIds, search);
 
-            System.out.println("Hybrid Search took: " + (System.currentTimeMillis() - start) + "ms");
-            return rankedJobs;
+        log.debug("Hybrid search took {}ms", (System.nanoTime() - start) / 1_000_000);
+        return HybridSearchResult.complete(rankedJobs);
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            // Fallback: if merge logic fails, return SQL results
-            return searchJobsSql(query);
-        }
+    private <T> T phase(String name, Observation parent, Supplier<T> work) {
+        return Observation.createNotStarted("search.hybrid.phase", observationRegistry)
+                .contextualName("search." + name)
+                .lowCardinalityKeyValue("phase", name)
+                .parentObservation(parent)
+                .observe(work);
     }
 
-    // --- 3. Helper method: call Python AI ---
+    // --- 3. Helper method: semantic top-k from the local ANN index (only the query embedding is remote),
+    // or from Python AI search while the index is disabled / not loaded (pooled client with deadline and hedging) ---
+    // Every attempt that got a breaker permission reports its outcome, also when the budget already ran out
     private List<Long> fetchJobIdsFromAI(String query) {
-        String url = aiServiceUrl + "/rag/search_only";
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("query", query);
-        requestBody.put("k", 20); // Get top 20 semantically related
-
+        long start = System.nanoTime();
         try {
-            // Define a simple inner class to receive Python return value
-            ResponseEntity<AISearchResponse> response = restTemplate.postForEntity(
-                    url, requestBody, AISearchResponse.class
-            );
-
-            if (response.getBody() != null && response.getBody().results != null) {
-                return response.getBody().results.stream()
-                        .map(r -> r.job_id)
-                        .collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Connect to AI Service failed");
+            List<Long> ids = semanticIndex.isReady()
+                    ? semanticIndex.search(query, semanticTopK)
+                    : aiServiceClient.searchJobIds(query, semanticTopK);
+            aiCircuitBreaker.onSuccess(System.nanoTime() - start);
+            return ids;
+        } catch (RuntimeException e) {
+            aiCircuitBreaker.onError(System.nanoTime() - start);
+            throw e;
         }
-        return Collections.emptyList();
     }
 
-    // --- 4. Helper method: RRF algorithm implementation ---
-    private List<Job> applyRRF(List<Job> sqlJobs, List<Long> aiJobIds) {
-        Map<Long, Double> scores = new HashMap<>();
-        int k = 60; // RRF constant
-
-        // Calculate SQL scores
-        for (int i = 0; i < sqlJobs.size(); i++) {
-            long id = sqlJobs.get(i).getId();
-            scores.put(id, scores.getOrDefault(id, 0.0) + (1.0 / (k + i + 1)));
-        }
+    // --- 4. Helper method: weighted RRF over the lexical and semantic rankings ---
+    private List<JobSummary> applyRRF(List<Long> sqlJobIds, List<Long> aiJobIds, Observation search) {
+        List<Long> rankedIds = phase("fusion", search, () -> RankFusion.fuse(List.of(
+                new RankFusion.Ranking("lexical", sqlJobIds, lexicalFusionWeight, lexicalFusionK),
+                new RankFusion.Ranking("semantic", aiJobIds, semanticFusionWeight, semanticFusionK)
+        ), fusionTopK));
+        return phase("hydration", search, () -> findAllInOrder(rankedIds));
+    }
 
-        // Calculate AI scores
-        for (int i = 0; i < aiJobIds.size(); i++) {
-            long id = aiJobIds.get(i);
-            scores.put(id, scores.getOrDefault(id, 0.0) + (1.0 / (k + i + 1)));
+    // Load summaries by id and restore the given ID order
+    private List<JobSummary> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-
-        // Re-fetch all involved Jobs (to get job details that AI found but SQL didn't)
-        // This step can be optimized with findAllById
-        List<Long> allIds = new ArrayList<>(scores.keySet());
-        List<Job> allJobs = jobRepository.findAllById(allIds);
-        Map<Long, Job> jobMap = allJobs.stream().collect(Collectors.toMap(Job::getId, j -> j));
-
-        // Sort and return
-        return scores.entrySet().stream()
-                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()) // Higher scores first
-                .map(entry -> jobMap.get(entry.getKey()))
+        Map<Long, JobSummary> jobMap = jobRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(JobSummary::getId, j -> j));
+        return ids.stream()
+                .map(jobMap::get)
                 .filter(java.util.Objects::nonNull) // Filter out dirty data that may not exist in database
                 .collect(Collectors.toList());
     }
 
-    // --- DTO: Used to receive Python return value ---
-    // Can be placed in a separate file, or as an inner static class
-    private static class AISearchResponse {
-        public List<ResultItem> results;
-        public static class ResultItem {
-            public Long job_id;
-            public Double score;
-        }
-    }
-
     @Override
     @Cacheable(value = "jobs", key = "'job:' + #id")
     public Job getJobById(Long id) {
@@ -184,34 +438,47 @@ public class JobServiceImpl implements JobService {
     }
 
     @Override
-    public List<Job> getUserFavorites(Users user) {
-        List<UserFavorite> favorites = userFavoriteRepository.findByUserWithJob(user);
-        return favorites.stream()
-                .map(UserFavorite::getJob)
-                .toList();
+    public List<JobSummary> getUserFavorites(Users user) {
+        return userFavoriteRepository.findJobSummariesByUserId(user.getId());
     }
 
+    // Single idempotent upsert: safe under double-click, no read-before-write
     @Override
+    @Transactional
     public void addToFavorites(Users user, Long jobId, String notes) {
-        Job job = getJobById(jobId);
-        if (!userFavoriteRepository.existsByUserAndJob(user, job)) {
-            UserFavorite favorite = new UserFavorite();
-            favorite.setUser(user);
-            favorite.setJob(job);
-            favorite.setNotes(notes);
-            userFavoriteRepository.save(favorite);
+        if (userFavoriteRepository.upsert(user.getId(), jobId, notes) == 0) {
+            throw new RuntimeException("Job not found");
         }
+        eventPublisher.publishEvent(new FavoritesChangedEvent(user.getId()));
     }
 
     @Override
+    @Transactional
     public void removeFromFavorites(Users user, Long jobId) {
-        Job job = getJobById(jobId);
-        userFavoriteRepository.deleteByUserAndJob(user, job);
+        if (userFavoriteRepository.deleteByUserIdAndJobId(user.getId(), jobId) > 0) {
+            eventPublisher.publishEvent(new FavoritesChangedEvent(user.getId()));
+        }
+    }
+
+    @Override
+    public Map<Long, Boolean> getFavoriteFlags(Users user, List<Long> jobIds) {
+        FavoriteIds favorites = favoriteIdsCache.get(user.getId());
+        Map<Long, Boolean> flags = new LinkedHashMap<>();
+        for (Long jobId : jobIds) {
+            if (jobId != null) {
+                flags.put(jobId, favorites.contains(jobId));
+            }
+        }
+        return flags;
+    }
+
+    @Override
+    public List<Long> getFavoriteJobIds(Users user) {
+        return Arrays.stream(favoriteIdsCache.get(user.getId()).getJobIds()).boxed().toList();
     }
 
     @Override
     @Transactional(propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
-    @CacheEvict(value = "jobs", allEntries = true)  // Clear all jobs cache
     public Job createJob(Job job) {
         // Validate URL is not empty
         if (job.getUrl() == null || job.getUrl().trim().isEmpty()) {
@@ -224,67 +491,37 @@ public class JobServiceImpl implements JobService {
             throw new IllegalArgumentException("Job URL already exists: " + job.getUrl());
         }
 
-        return jobRepository.save(job);
+        Job savedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.created(List.of(savedJob)));
+        return savedJob;
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRED, rollbackFor = Exception.class)
-    @CacheEvict(value = "jobs", allEntries = true)  // Clear all jobs cache
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Intake commits per chunk itself
     public List<Job> createJobsBatch(List<Job> jobs) {
         if (jobs == null || jobs.isEmpty()) {
             return List.of();
         }
-
-        List<Job> savedJobs = new ArrayList<>();
-        List<Job> skippedJobs = new ArrayList<>();
-
-        System.out.println("Starting batch save of " + jobs.size() + " jobs...");
-
-        for (Job job : jobs) {
-            try {
-                // Validate URL is not empty
-                if (job.getUrl() == null || job.getUrl().trim().isEmpty()) {
-                    System.err.println("Skipping invalid job (URL is empty): " + job.getTitle() + " - " + job.getCompany());
-                    skippedJobs.add(job);
-                    continue;
-                }
-
-                // Check if same job already exists (based on URL)
-                Optional<Job> existingJob = jobRepository.findByUrl(job.getUrl());
-
-                if (existingJob.isPresent()) {
-                    // If exists, skip duplicate job
-                    skippedJobs.add(job);
-                    System.out.println("Skipping duplicate job (URL already exists): " + job.getTitle() + " - " + job.getCompany() + " | URL: " + job.getUrl());
-                } else {
-                    // If not exists, save new job
-                    Job savedJob = jobRepository.save(job);
-                    savedJobs.add(savedJob);
-                    System.out.println("Successfully saved job: " + job.getTitle() + " - " + job.getCompany());
-                }
-            } catch (Exception e) {
-                System.err.println("Error saving job: " + job.getTitle() + " - " + job.getCompany() + ", error: " + e.getMessage());
-                // In transaction, single job error does not affect other jobs saving
-                skippedJobs.add(job);
-            }
-        }
-
-        System.out.println("Batch save completed - Success: " + savedJobs.size() + ", Skipped: " + skippedJobs.size());
-        return savedJobs;
+        // Set-based path: chunked duplicate check + one INSERT per chunk instead of findByUrl/save per job
+        return jobIntakeService.intakeJobs(jobs).getInsertedJobs();
     }
 
+    // Cache entries are refreshed after commit by JobCacheInvalidator (job:{id} + catalog version)
     @Override
-    @CacheEvict(value = "jobs", allEntries = true)  // Clear all jobs cache
+    @Transactional
     public Job updateJob(Long id, Job job) {
         Job existingJob = getJobById(id);
         job.setId(id);
-        return jobRepository.save(job);
+        Job savedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.updated(savedJob));
+        return savedJob;
     }
 
     @Override
-    @CacheEvict(value = "jobs", allEntries = true)  // Clear all jobs cache
+    @Transactional
     public void deleteJob(Long id) {
         Job job = getJobById(id);
         jobRepository.delete(job);
+        eventPublisher.publishEvent(JobChangedEvent.deleted(job));
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobBulkRepository;
+import com.jobtracker.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory pre-filter in front of the "url IN (...)" duplicate check of bulk intake.
+ * A URL the Bloom filter has never seen is definitely new and needs no DB lookup.
+ * Until the filter is loaded every URL is reported as "maybe known".
+ */
+@Slf4j
+@Component
+public class KnownUrlFilter {
+
+    private final JobBulkRepository jobBulkRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BloomFilter filter;
+
+    private volatile boolean ready = false;
+
+    public KnownUrlFilter(JobBulkRepository jobBulkRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.intake.url-filter.expected-urls:2000000}") long expectedUrls,
+                          @Value("${app.intake.url-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jobBulkRepository = jobBulkRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.filter = new BloomFilter(expectedUrls, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread thread = new Thread(this::load, "known-url-filter-load");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        try {
+            int[] count = {0};
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jobBulkRepository.forEachUrl(5000, url -> {
+                        filter.put(url);
+                        count[0]++;
+                    }));
+            ready = true;
+            log.info("Known URL filter loaded {} urls in {}ms", count[0], System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Known URL filter load failed, intake will check every URL against the DB: {}", e.getMessage());
+        }
+    }
+
+    public boolean mightBeKnown(String url) {
+        return !ready || filter.mightContain(url);
+    }
+
+    public void add(String url) {
+        filter.put(url);
+    }
+
+    // Single-job creates and updates don't go through bulk intake, track their URLs too
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.type() == JobChangedEvent.ChangeType.DELETED) {
+            return; // Bloom filters can't remove; a stale entry only costs one extra DB lookup
+        }
+        for (Job job : event.jobs()) {
+            if (job.getUrl() != null) {
+                filter.put(job.getUrl());
+            }
+        }
+    }
+}
@@ -1,64 +1,98 @@
 package com.jobtracker.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.client.AiServiceClient;
+import com.jobtracker.service.CatalogVersionService;
 import com.jobtracker.service.RecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestOperations;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile; 
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.ArrayList;
-import java.util.HashMap;
-// ...
 
+/**
+ * Resume recommendations from ai_service, cached by SHA-256 of the uploaded file.
+ * The upload is never copied onto the heap: it is hashed in one streaming pass over the
+ * spooled multipart file and, on a cache miss, streamed from there to ai_service.
+ * Keys include the file extension (it selects the parser in ai_service) and the catalog version.
+ */
 @Service
 public class RecommendationServiceImpl implements RecommendationService {
-    // ... existing code ...
-    @Value("${ai.service.url:http://localhost:5000}")
-    private String aiServiceBaseUrl;
-    
-    private final RestTemplate restTemplate = new RestTemplate();
-    
-    private String getAiServiceFileUrl() {
-        return aiServiceBaseUrl + "/recommend_file";
+
+    private final AiServiceClient aiServiceClient;
+    private final CatalogVersionService catalogVersionService;
+    private final Cache<String, List<Map<String, Object>>> results;
+    private final Counter hits;
+    private final Counter misses;
+
+    public RecommendationServiceImpl(AiServiceClient aiServiceClient,
+                                     CatalogVersionService catalogVersionService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.recommend.cache.ttl:1h}") Duration ttl,
+                                     @Value("${app.recommend.cache.max-size:1000}") long maxSize) {
+        this.aiServiceClient = aiServiceClient;
+        this.catalogVersionService = catalogVersionService;
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+        this.hits = Counter.builder("recommend.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("recommend.cache.requests").tag("result", "miss").register(meterRegistry);
     }
+
     @Override
     public List<Map<String, Object>> getRecommendationsFromFile(MultipartFile resumeFile, String authToken) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-        // Forward authentication token from frontend to Python service
-        headers.set("Authorization", authToken);
-
-        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-
         try {
-            // Wrap MultipartFile into a resource that can be sent
-            ByteArrayResource fileAsResource = new ByteArrayResource(resumeFile.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return resumeFile.getOriginalFilename();
-                }
-            };
-            body.add("resume_file", fileAsResource);
+            String key = catalogVersionService.current() + "|" + extension(resumeFile.getOriginalFilename())
+                    + "|" + sha256(resumeFile);
+            List<Map<String, Object>> cached = results.getIfPresent(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            // Streamed from the multipart file in chunks; forward authentication token from frontend to Python service
+            List<Map<String, Object>> recommendations = aiServiceClient.recommendFromFile(resumeFile.getResource(), authToken);
+            results.put(key, List.copyOf(recommendations));
+            return recommendations;
         } catch (IOException e) {
             throw new RuntimeException("Failed to read file", e);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to get recommendations from AI service: " + e.getMessage(), e);
         }
+    }
 
-        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-        ResponseEntity<List> response = restTemplate.postForEntity(getAiServiceFileUrl(), requestEntity, List.class);
+    private static String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 
-        if (response.getStatusCode() == HttpStatus.OK) {
-            return response.getBody();
-        } else {
-            throw new RuntimeException("Failed to get recommendations from AI service. Status: " + response.getStatusCode());
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
         }
+        int dot = filename.lastIndexOf('.');
+        return dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
     }
 }
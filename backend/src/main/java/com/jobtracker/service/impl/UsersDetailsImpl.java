@@ -20,6 +20,12 @@ public class UsersDetailsImpl implements UserDetails {
         this.user.setRole(role);
     }
 
+    // Principal rebuilt from token claims (id, email, role), no password
+    public UsersDetailsImpl(Long id, String email, String role) {
+        this(email, role);
+        this.user.setId(id);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
@@ -39,5 +45,13 @@ public class UsersDetailsImpl implements UserDetails {
         return user.getId();
     }
 
+    public String getRole() {
+        return user.getRole();
+    }
+
+    public Users getUser() {
+        return user;
+    }
+
     // Other methods remain unchanged...
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.jobtracker.util;
+
+/**
+ * Open-addressing map from long keys to double values, no boxing.
+ * Remembers insertion order, so entries can be walked (and the map cleared) in O(size)
+ * regardless of capacity, which makes it cheap to reuse for many small workloads.
+ * Not thread-safe.
+ */
+public class LongDoubleHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private double[] values;
+    // Insertion index + 1 of the key in each slot, 0 = empty
+    private int[] slotIndex;
+    // Slot of the i-th inserted key
+    private int[] order;
+    private int size;
+    private int mask;
+
+    public LongDoubleHashMap() {
+        this(64);
+    }
+
+    public LongDoubleHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(8, capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        slotIndex = new int[capacity];
+        order = new int[(int) (capacity * LOAD_FACTOR) + 1];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Add delta to the value of key (absent keys start at 0).
+     * @return insertion index of the key
+     */
+    public int addTo(long key, double delta) {
+        int slot = slotOf(key);
+        if (slotIndex[slot] != 0) {
+            values[slot] += delta;
+            return slotIndex[slot] - 1;
+        }
+        if (size + 1 > order.length - 1) {
+            grow();
+            slot = slotOf(key);
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        order[size] = slot;
+        slotIndex[slot] = ++size;
+        return size - 1;
+    }
+
+    public double get(long key, double defaultValue) {
+        int slot = slotOf(key);
+        return slotIndex[slot] != 0 ? values[slot] : defaultValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Key / value of the i-th inserted entry, 0 <= i < size()
+    public long keyAt(int index) {
+        return keys[order[index]];
+    }
+
+    public double valueAt(int index) {
+        return values[order[index]];
+    }
+
+    // Keeps the capacity
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            slotIndex[order[i]] = 0;
+        }
+        size = 0;
+    }
+
+    private int slotOf(long key) {
+        int slot = mix(key) & mask;
+        while (slotIndex[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        int[] oldOrder = order;
+        int oldSize = size;
+        allocate(keys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldSize; i++) {
+            int oldSlot = oldOrder[i];
+            int slot = slotOf(oldKeys[oldSlot]);
+            keys[slot] = oldKeys[oldSlot];
+            values[slot] = oldValues[oldSlot];
+            order[size] = slot;
+            slotIndex[slot] = ++size;
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "" : ", ").append(keyAt(i)).append('=').append(valueAt(i));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -1,12 +1,14 @@
 package com.jobtracker.util;
 
+import com.jobtracker.search.RankFusion;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class RRFCalculator {
     // Industry standard k is usually 60
-    private static final int K = 60;
+    private static final int K = RankFusion.DEFAULT_K;
 
     /**
      * Calculate Reciprocal Rank Fusion score
@@ -15,23 +17,24 @@ public class RRFCalculator {
      * @return Map<JobId, Score>
      */
     public static Map<Long, Double> calculateScores(List<Long> sqlIds, List<Long> aiIds) {
-        Map<Long, Double> scores = new HashMap<>();
-
-        // 1. Calculate SQL ranking score
-        for (int i = 0; i < sqlIds.size(); i++) {
-            Long id = sqlIds.get(i);
-            // Formula: 1 / (k + rank)
-            double score = 1.0 / (K + i + 1);
-            scores.put(id, scores.getOrDefault(id, 0.0) + score);
+        LongDoubleHashMap fused = RankFusion.scores(rankings(sqlIds, aiIds));
+        Map<Long, Double> scores = new HashMap<>(fused.size() * 2);
+        for (int i = 0; i < fused.size(); i++) {
+            scores.put(fused.keyAt(i), fused.valueAt(i));
         }
+        return scores;
+    }
 
-        // 2. Calculate AI ranking score (accumulate)
-        for (int i = 0; i < aiIds.size(); i++) {
-            Long id = aiIds.get(i);
-            double score = 1.0 / (K + i + 1);
-            scores.put(id, scores.getOrDefault(id, 0.0) + score);
-        }
+    /**
+     * Fused ranking of the two lists, best first, at most topK ids.
+     */
+    public static List<Long> fuse(List<Long> sqlIds, List<Long> aiIds, int topK) {
+        return RankFusion.fuse(rankings(sqlIds, aiIds), topK);
+    }
 
-        return scores;
+    private static List<RankFusion.Ranking> rankings(List<Long> sqlIds, List<Long> aiIds) {
+        return List.of(
+                new RankFusion.Ranking("sql", sqlIds, 1.0, K),
+                new RankFusion.Ranking("ai", aiIds, 1.0, K));
     }
-}
\ No newline at end of file
+}
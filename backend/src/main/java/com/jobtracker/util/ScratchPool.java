@@ -0,0 +1,35 @@
+package com.jobtracker.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable per-query scratch objects (score buffers, visited sets).
+ * A borrower that finds the pool empty gets a fresh object, and releases beyond the capacity
+ * are dropped, so at most {@code capacity} objects stay retained however many threads search.
+ * Thread-safe; the objects themselves are used by one thread at a time.
+ */
+public class ScratchPool<T> {
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    public ScratchPool(int capacity, Supplier<T> factory) {
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.factory = factory;
+    }
+
+    public T borrow() {
+        T scratch = idle.poll();
+        return scratch != null ? scratch : factory.get();
+    }
+
+    public void release(T scratch) {
+        idle.offer(scratch);
+    }
+
+    // Objects currently waiting to be reused
+    public int idleCount() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.jobtracker.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Split text into lowercase search terms.
+     * Latin/digit runs become one term each; CJK runs (no spaces between words)
+     * are split into overlapping bigrams so that "开发工程师" can be found by "开发".
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int i = 0;
+        int len = text.length();
+        while (i < len) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < len && isCjk(text.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    tokens.add(String.valueOf(c));
+                } else {
+                    for (int j = start; j < i - 1; j++) {
+                        tokens.add(text.substring(j, j + 2));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < len && Character.isLetterOrDigit(text.charAt(i)) && !isCjk(text.charAt(i))) {
+                    i++;
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -28,9 +28,31 @@ CREATE TABLE job (
                      source VARCHAR(255),
                      description TEXT,
                      created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Bulk intake relies on ON CONFLICT (url)
+                     CONSTRAINT uk_job_url UNIQUE (url)
 );
 
+-- Indexes for keyset pagination (id > cursor ORDER BY id) with optional filters
+CREATE INDEX idx_job_company_id ON job (company, id);
+CREATE INDEX idx_job_location_id ON job (location, id);
+CREATE INDEX idx_job_source_id ON job (source, id);
+
+-- Full-text / trigram search columns and indexes: see schema-search.sql (app.search.lexical-backend: postgres)
+
+-- Job change outbox, written in the same transaction as each job write (GET /api/internal/jobs/changes).
+-- Also created on startup by schema-changes.sql
+DROP TABLE IF EXISTS job_change CASCADE;
+CREATE TABLE job_change (
+                            id BIGSERIAL PRIMARY KEY,
+                            txid BIGINT NOT NULL,          -- pg_current_xact_id() of the writing transaction
+                            job_id BIGINT NOT NULL,        -- no FK: delete rows must outlive the job
+                            change_type VARCHAR(16) NOT NULL,
+                            changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_job_change_txid_id ON job_change (txid, id);
+CREATE INDEX idx_job_change_changed_at ON job_change (changed_at);
+
 -- Create user_favorite table
 CREATE TABLE user_favorite (
                                id BIGSERIAL PRIMARY KEY,
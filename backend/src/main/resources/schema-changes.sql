@@ -0,0 +1,19 @@
+-- Change tracking: job change outbox (GET /api/internal/jobs/changes) and catalog version sequence.
+-- Applied on every startup by JobChangeSchema before Hibernate validates the schema.
+-- Idempotent, safe to run against an existing database.
+
+CREATE TABLE IF NOT EXISTS job_change (
+    id BIGSERIAL PRIMARY KEY,
+    txid BIGINT NOT NULL,          -- pg_current_xact_id() of the writing transaction
+    job_id BIGINT NOT NULL,        -- no FK: delete rows must outlive the job
+    change_type VARCHAR(16) NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Feed order, see JobChangeRepository
+CREATE INDEX IF NOT EXISTS idx_job_change_txid_id ON job_change (txid, id);
+-- Retention cleanup (app.changes.retention), see JobChangeRetention
+CREATE INDEX IF NOT EXISTS idx_job_change_changed_at ON job_change (changed_at);
+
+-- Catalog version for list cache keys and ETags, see CatalogVersionService
+CREATE SEQUENCE IF NOT EXISTS catalog_version_seq;
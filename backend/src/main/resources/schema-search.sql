@@ -0,0 +1,26 @@
+-- Postgres-native job search (app.search.lexical-backend: postgres), applied on startup by
+-- PostgresSearchSchema. Idempotent, safe to run against an existing database.
+-- Statements run one by one in autocommit mode (CREATE INDEX CONCURRENTLY can't run in a transaction).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted document: title (A), company (B), location (C), description (D).
+-- A stored generated column is maintained by Postgres on every insert/update, including bulk intake.
+-- Adding it REWRITES the whole job table under an ACCESS EXCLUSIVE lock: no reads or writes of job
+-- until it is done (minutes at millions of rows). On a large existing table, run this script by hand
+-- in a maintenance window before switching the backend to postgres; once the column exists this is a no-op.
+ALTER TABLE job ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(location, '')), 'C') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(description, '')), 'D')
+    ) STORED;
+
+-- CONCURRENTLY: built without blocking writes to job. A failed build leaves an INVALID index that
+-- IF NOT EXISTS would skip; PostgresSearchSchema drops those first so they are rebuilt.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_job_search_vector ON job USING GIN (search_vector);
+
+-- Trigram indexes for fuzzy (typo tolerant) title/company matches with the % operator
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_job_title_trgm ON job USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_job_company_trgm ON job USING GIN (lower(company) gin_trgm_ops);
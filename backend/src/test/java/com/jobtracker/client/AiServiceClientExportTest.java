@@ -0,0 +1,98 @@
+package com.jobtracker.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiServiceClientExportTest {
+
+    private final List<String> received = new ArrayList<>();
+    private final AiServiceClient.EmbeddingSink sink = new AiServiceClient.EmbeddingSink() {
+        @Override
+        public void start(int dimension, long count) {
+            received.add("start " + dimension + " " + count);
+        }
+
+        @Override
+        public void accept(long jobId, float[] vector) {
+            received.add(jobId + " " + Arrays.toString(vector));
+        }
+
+        @Override
+        public void end(long count) {
+            received.add("end " + count);
+        }
+    };
+
+    @Test
+    void readsVectorsAndTrailer() throws IOException {
+        ByteBuffer export = header(2, 2).putLong(7).putFloat(1).putFloat(2).putLong(9).putFloat(3).putFloat(4)
+                .putLong(-1).putLong(2);
+
+        client(export, 5).exportEmbeddings(sink);
+
+        assertThat(received).containsExactly("start 2 -1", "7 [1.0, 2.0]", "9 [3.0, 4.0]", "end 2");
+    }
+
+    @Test
+    void exportCutOffBeforeTrailerFails() {
+        ByteBuffer export = header(2, 2).putLong(7).putFloat(1).putFloat(2);
+
+        assertThatThrownBy(() -> client(export, 3).exportEmbeddings(sink))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("before its trailer");
+        assertThat(received).noneMatch(entry -> entry.startsWith("end"));
+    }
+
+    @Test
+    void exportCutOffInsideVectorFails() {
+        ByteBuffer export = header(2, 2).putLong(7).putFloat(1);
+
+        assertThatThrownBy(() -> client(export, 4).exportEmbeddings(sink)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void oldFormatWithoutTrailerIsRejected() {
+        ByteBuffer export = header(1, 2).putLong(7).putFloat(1).putFloat(2);
+
+        assertThatThrownBy(() -> client(export, 8).exportEmbeddings(sink))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported");
+    }
+
+    private static ByteBuffer header(int version, int dimension) {
+        return ByteBuffer.allocate(1024).putInt(0x4A454D42).putInt(version).putInt(dimension).putLong(-1);
+    }
+
+    // Serves the export in chunks of the given size, so records span buffer boundaries
+    private static AiServiceClient client(ByteBuffer export, int chunkSize) {
+        byte[] bytes = Arrays.copyOf(export.array(), export.position());
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunkSize))));
+        }
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request ->
+                Mono.just(ClientResponse.create(HttpStatus.OK).body(Flux.fromIterable(chunks)).build()));
+        return new AiServiceClient(builder, new ObjectMapper(), new SimpleMeterRegistry(), "http://ai",
+                4, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(2),
+                Duration.ofSeconds(60), Duration.ofMinutes(1), false, Duration.ofMillis(100), 100, 1 << 20);
+    }
+}
@@ -0,0 +1,100 @@
+package com.jobtracker.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Hedged semantic search against a fake ai_service: answers are chosen per request number.
+ */
+class AiServiceClientHedgingTest {
+
+    private static final int MIN_SAMPLES = 100;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile IntFunction<Mono<ClientResponse>> responder = request -> ok(1);
+    private final AiServiceClient client = client();
+
+    @Test
+    void noHedgingBeforeEnoughCallsWereTimed() {
+        responder = request -> delayed(300, ok(1));
+
+        assertThat(client.searchJobIds("java", 10)).containsExactly(1L);
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void slowRequestIsHedgedOnceWarm() {
+        warmUp();
+        // The primary would take longer than the deadline, the hedge answers at once
+        responder = request -> request == MIN_SAMPLES + 1 ? delayed(5000, ok(1)) : ok(2);
+
+        assertThat(client.searchJobIds("java", 10)).containsExactly(2L);
+        assertThat(requests).hasValue(MIN_SAMPLES + 2);
+    }
+
+    @Test
+    void failedPrimaryIsNotHedged() throws InterruptedException {
+        warmUp();
+        responder = request -> request == MIN_SAMPLES + 1 ? error() : ok(2);
+
+        assertThatThrownBy(() -> client.searchJobIds("java", 10)).isInstanceOf(WebClientResponseException.class);
+        // Well past the hedge delay: the pending hedge was cancelled, not sent
+        Thread.sleep(300);
+        assertThat(requests).hasValue(MIN_SAMPLES + 1);
+    }
+
+    @Test
+    void failedHedgeFallsBackToPrimary() {
+        warmUp();
+        responder = request -> request == MIN_SAMPLES + 1 ? delayed(300, ok(1)) : error();
+
+        assertThat(client.searchJobIds("java", 10)).containsExactly(1L);
+        assertThat(requests).hasValue(MIN_SAMPLES + 2);
+    }
+
+    // Fast successful calls, so the observed p95 is far below the slow answers above
+    private void warmUp() {
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            client.searchJobIds("warm up", 10);
+        }
+        assertThat(requests).hasValue(MIN_SAMPLES);
+    }
+
+    private static Mono<ClientResponse> ok(long jobId) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"results\": [{\"job_id\": " + jobId + ", \"title\": \"Engineer\"}]}")
+                .build());
+    }
+
+    private static Mono<ClientResponse> error() {
+        return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    private static Mono<ClientResponse> delayed(long millis, Mono<ClientResponse> response) {
+        return Mono.delay(Duration.ofMillis(millis)).then(response);
+    }
+
+    private AiServiceClient client() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request ->
+                Mono.defer(() -> responder.apply(requests.incrementAndGet())));
+        return new AiServiceClient(builder, new ObjectMapper(), new SimpleMeterRegistry(), "http://ai",
+                4, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(2),
+                Duration.ofSeconds(60), Duration.ofMinutes(1), true, Duration.ofMillis(50), MIN_SAMPLES, 1 << 20);
+    }
+}
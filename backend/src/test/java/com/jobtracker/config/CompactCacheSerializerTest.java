@@ -0,0 +1,128 @@
+package com.jobtracker.config;
+
+import com.jobtracker.dto.FacetCount;
+import com.jobtracker.dto.JobPage;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.entity.Job;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactCacheSerializerTest {
+
+    private final RedisSerializer<Object> json =
+            new Jackson2JsonRedisSerializer<>(RedisConfig.cacheObjectMapper(), Object.class);
+    private final CompactCacheSerializer binary = new CompactCacheSerializer(json, true, -1);
+    private final CompactCacheSerializer deflating = new CompactCacheSerializer(json, true, 64);
+
+    @Test
+    void jobRoundTrip() {
+        Job job = job(1);
+        job.setDescription(null);
+
+        assertThat(binary.deserialize(binary.serialize(job))).isEqualTo(job);
+    }
+
+    @Test
+    void jobListRoundTripWithCompression() {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            jobs.add(job(i));
+        }
+
+        byte[] bytes = deflating.serialize(jobs);
+
+        assertThat(bytes[2] & 1).as("deflate flag").isEqualTo(1);
+        assertThat(deflating.deserialize(bytes)).isEqualTo(jobs);
+    }
+
+    @Test
+    void summaryListRoundTrip() {
+        List<JobSummary> summaries = List.of(summary(1), summary(2), new JobSummary(3L, null, null, null, null, null, null));
+
+        assertThat(binary.deserialize(binary.serialize(summaries))).isEqualTo(summaries);
+    }
+
+    @Test
+    void pageWithoutFacetsRoundTrip() {
+        JobPage page = new JobPage(List.of(summary(1), summary(2)), 2L, true, null);
+
+        assertThat(binary.deserialize(binary.serialize(page))).isEqualTo(page);
+    }
+
+    @Test
+    void pageWithFacetsKeepsCountsInOrder() {
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        facets.put("company", List.of(new FacetCount("Acme", 12), new FacetCount("Globex", 3)));
+        facets.put("location", List.of(new FacetCount("Berlin, Germany", 7), new FacetCount("Mars", 0)));
+        facets.put("source", List.of());
+        JobPage page = new JobPage(List.of(summary(1)), null, false, facets);
+
+        JobPage decoded = (JobPage) binary.deserialize(binary.serialize(page));
+        JobPage deflated = (JobPage) deflating.deserialize(deflating.serialize(page));
+
+        assertThat(decoded).isEqualTo(page);
+        assertThat(decoded.getFacets().keySet()).containsExactly("company", "location", "source");
+        assertThat(deflated).isEqualTo(page);
+    }
+
+    @Test
+    void otherValuesGoThroughJson() {
+        // Mutable collections, like the values services cache: JDK immutables are final and carry no type id
+        Map<String, Object> value = new HashMap<>();
+        value.put("status", "ok");
+
+        assertThat(binary.deserialize(binary.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void legacyJsonEntriesAreReadable() {
+        List<JobSummary> summaries = new ArrayList<>(List.of(summary(1)));
+
+        Object decoded = binary.deserialize(json.serialize(summaries));
+
+        assertThat(decoded).isInstanceOf(List.class);
+        assertThat((List<?>) decoded).hasSize(1);
+    }
+
+    @Test
+    void unknownFormatVersionReadsAsMiss() {
+        byte[] bytes = binary.serialize(job(1));
+        bytes[1] = (byte) (CompactCacheSerializer.VERSION + 1);
+
+        assertThat(binary.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void summariesWrittenBeforeSnippetsReadAsMiss() {
+        byte[] bytes = binary.serialize(List.of(summary(1)));
+        bytes[1] = 1;
+
+        assertThat(binary.deserialize(bytes)).isNull();
+    }
+
+    private static Job job(long id) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle("Java Engineer " + id);
+        job.setCompany("Acme");
+        job.setLocation("Zürich");
+        job.setUrl("https://jobs.example.com/" + id);
+        job.setSource("linkedin");
+        job.setDescription("Spring Boot, Postgres and Redis. ".repeat(5));
+        return job;
+    }
+
+    private static JobSummary summary(long id) {
+        return new JobSummary(id, "Java Engineer " + id, "Acme", "Remote", "https://jobs.example.com/" + id, "rss",
+                "Spring Boot, Postgres and Redis. ".repeat(7).substring(0, JobSummary.SNIPPET_LENGTH));
+    }
+}
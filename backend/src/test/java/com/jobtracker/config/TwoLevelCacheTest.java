@@ -0,0 +1,110 @@
+package com.jobtracker.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Two nodes sharing one L2, with each node's invalidation messages delivered to the other one.
+ */
+class TwoLevelCacheTest {
+
+    private final ConcurrentMapCacheManager sharedRemote = new ConcurrentMapCacheManager();
+    private final TwoLevelCacheManager nodeA = node();
+    private final TwoLevelCacheManager nodeB = node();
+    private final List<TwoLevelCacheManager> nodes = List.of(nodeA, nodeB);
+
+    @Test
+    void putOnOneNodeDropsTheOtherNodesLocalCopy() {
+        Cache cacheA = nodeA.getCache("favoriteIds");
+        Cache cacheB = nodeB.getCache("favoriteIds");
+        cacheA.put("u:5", "v1");
+        assertThat(cacheB.get("u:5").get()).isEqualTo("v1");
+
+        cacheA.put("u:5", "v2");
+
+        assertThat(cacheB.get("u:5").get()).isEqualTo("v2");
+    }
+
+    @Test
+    void nonStringKeysAreInvalidatedToo() {
+        Cache cacheA = nodeA.getCache("jobs");
+        Cache cacheB = nodeB.getCache("jobs");
+        cacheA.put(5L, "v1");
+        assertThat(cacheB.get(5L).get()).isEqualTo("v1");
+
+        cacheA.put(5L, "v2");
+        assertThat(cacheB.get(5L).get()).isEqualTo("v2");
+
+        cacheA.evict(5L);
+        assertThat(cacheB.get(5L)).isNull();
+    }
+
+    @Test
+    void remoteMessageClearsTheLocalEntry() {
+        Cache cache = nodeA.getCache("jobs");
+        cache.put(7L, "v1");
+        // Changed in L2 behind this node's back, only the message tells it
+        sharedRemote.getCache("jobs").put(7L, "v2");
+        assertThat(cache.get(7L).get()).isEqualTo("v1");
+
+        nodeA.onMessage(message("other-node|jobs|7"), null);
+
+        assertThat(cache.get(7L).get()).isEqualTo("v2");
+    }
+
+    @Test
+    void clearDropsEveryLocalEntryOnOtherNodes() {
+        Cache cacheA = nodeA.getCache("jobs");
+        Cache cacheB = nodeB.getCache("jobs");
+        cacheA.put(1L, "a");
+        cacheA.put("list", "b");
+        cacheB.get(1L);
+        cacheB.get("list");
+
+        cacheA.clear();
+
+        assertThat(cacheB.get(1L)).isNull();
+        assertThat(cacheB.get("list")).isNull();
+    }
+
+    @Test
+    void malformedMessagesAreIgnored() {
+        Cache cache = nodeA.getCache("jobs");
+        cache.put(7L, "v1");
+        sharedRemote.getCache("jobs").put(7L, "v2");
+
+        nodeA.onMessage(message("garbage"), null);
+
+        assertThat(cache.get(7L).get()).isEqualTo("v1");
+    }
+
+    // Publishing on one node delivers the message to every node, as Redis pub/sub does
+    private TwoLevelCacheManager node() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            String body = invocation.getArgument(1);
+            nodes.forEach(node -> node.onMessage(message(body), null));
+            return 1L;
+        }).when(redis).convertAndSend(anyString(), any());
+        return new TwoLevelCacheManager(sharedRemote, redis, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.jobtracker.controller;
+
+import com.jobtracker.entity.Job;
+import com.jobtracker.service.CatalogVersionService;
+import com.jobtracker.service.JobService;
+import com.jobtracker.service.RecommendationService;
+import com.jobtracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobControllerEtagTest {
+
+    private final JobService jobService = mock(JobService.class);
+    private final CatalogVersionService catalogVersionService = mock(CatalogVersionService.class);
+    private final PrecompressedResponseCache precompressedResponseCache = mock(PrecompressedResponseCache.class);
+    private final JobController controller = new JobController(jobService, mock(UserService.class),
+            mock(RecommendationService.class), catalogVersionService, precompressedResponseCache);
+
+    @Test
+    void jobEtagCarriesVersionAndId() {
+        when(catalogVersionService.current()).thenReturn(5L);
+        when(jobService.getJobById(1L)).thenReturn(job(1L));
+
+        ResponseEntity<Job> response = controller.getJobById(1L, request(null));
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"c5-j1\"");
+        assertThat(response.getBody()).isEqualTo(job(1L));
+    }
+
+    @Test
+    void matchingEtagIsNotModified() {
+        when(catalogVersionService.current()).thenReturn(5L);
+        when(jobService.getJobById(1L)).thenReturn(job(1L));
+        ServletWebRequest request = request("\"c5-j1\"");
+
+        assertThat(controller.getJobById(1L, request)).isNull();
+        assertThat(request.getResponse().getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void etagOfAnotherJobDoesNotMatch() {
+        when(catalogVersionService.current()).thenReturn(5L);
+        when(jobService.getJobById(2L)).thenReturn(job(2L));
+
+        assertThat(controller.getJobById(2L, request("\"c5-j1\"")).getBody()).isEqualTo(job(2L));
+    }
+
+    @Test
+    void deletedJobIsNeverNotModified() {
+        when(catalogVersionService.current()).thenReturn(5L);
+        when(jobService.getJobById(1L)).thenThrow(new RuntimeException("Job not found"));
+
+        assertThatThrownBy(() -> controller.getJobById(1L, request("\"c5-j1\"")))
+                .hasMessage("Job not found");
+    }
+
+    @Test
+    void fullCatalogPointsToThePagedListing() {
+        when(catalogVersionService.current()).thenReturn(5L);
+        when(precompressedResponseCache.get(eq("all"), eq(5L), any()))
+                .thenReturn(new PrecompressedResponseCache.Body("[]".getBytes(), new byte[0]));
+
+        ResponseEntity<?> response = controller.getAllJobs(null, null, request(null), null);
+
+        assertThat(response.getHeaders().getFirst("Deprecation")).isEqualTo("true");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).contains("</api/jobs/page>");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"c5\"");
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs/1");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static Job job(long id) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle("Java Engineer");
+        return job;
+    }
+}
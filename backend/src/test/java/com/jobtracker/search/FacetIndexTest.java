@@ -0,0 +1,220 @@
+package com.jobtracker.search;
+
+import com.jobtracker.dto.FacetCount;
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Facet counts checked against a brute-force count over the live jobs, after a random
+ * sequence of creates, updates and deletes on top of a rebuilt index.
+ */
+class FacetIndexTest {
+
+    private static final String[] COMPANIES = {"Acme", "Globex", "Initech", "Umbrella", "Hooli"};
+    private static final String[] LOCATIONS = {"Remote", "Berlin", "NYC", null};
+    private static final String[] SOURCES = {"rss", "linkedin"};
+    private static final String[][] SELECTABLE = {COMPANIES, {"Remote", "Berlin", "NYC", "Mars"}, SOURCES};
+    private static final int MAX_VALUES = 3;
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final Random random = new Random(3);
+    // Expected state: job id -> company, location, source
+    private final Map<Long, String[]> live = new TreeMap<>();
+
+    @Test
+    void countsMatchBruteForce() {
+        for (long id = 1; id <= 200; id++) {
+            live.put(id, randomValues());
+        }
+        FacetIndex index = rebuiltIndex();
+
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(300) + 1;
+            if (random.nextInt(4) == 0) {
+                index.onJobChanged(JobChangedEvent.deleted(job(id, new String[3])));
+                live.remove(id);
+            } else {
+                String[] values = randomValues();
+                index.onJobChanged(live.containsKey(id)
+                        ? JobChangedEvent.updated(job(id, values))
+                        : JobChangedEvent.created(List.of(job(id, values))));
+                live.put(id, values);
+            }
+        }
+
+        for (int round = 0; round < 300; round++) {
+            List<List<String>> selection = randomSelection();
+            FacetFilter filter = new FacetFilter(selection.get(0), selection.get(1), selection.get(2));
+            Set<Long> base = null;
+            if (round % 2 == 1) {
+                base = new HashSet<>();
+                for (Long id : live.keySet()) {
+                    if (random.nextInt(3) == 0) {
+                        base.add(id);
+                    }
+                }
+                // Ids unknown to the index are ignored
+                base.add(10_000L);
+            }
+
+            Map<String, List<FacetCount>> counts = index.counts(base, filter);
+
+            assertThat(counts.keySet()).containsExactly("company", "location", "source");
+            for (FacetIndex.Facet facet : FacetIndex.Facet.values()) {
+                assertFacet(counts.get(facet.key()), expected(base, selection, facet.ordinal()),
+                        selection.get(facet.ordinal()));
+            }
+        }
+    }
+
+    @Test
+    void rebuildDropsDeletedJobsAndEmptyValues() {
+        live.put(1L, new String[]{"Acme", "Remote", "rss"});
+        live.put(2L, new String[]{"Globex", "Berlin", "rss"});
+        FacetIndex index = rebuiltIndex();
+
+        index.onJobChanged(JobChangedEvent.deleted(job(2L, new String[3])));
+        live.remove(2L);
+        index.rebuild();
+
+        assertThat(index.counts(null, new FacetFilter()).get("company"))
+                .containsExactly(new FacetCount("Acme", 1));
+    }
+
+    @Test
+    void selectedValueWithoutMatchesIsStillListed() {
+        live.put(1L, new String[]{"Acme", "Remote", "rss"});
+        FacetIndex index = rebuiltIndex();
+
+        FacetFilter filter = new FacetFilter(List.of("Acme"), List.of("Mars"), List.of());
+        Map<String, List<FacetCount>> counts = index.counts(null, filter);
+
+        assertThat(counts.get("location")).containsExactly(new FacetCount("Remote", 1), new FacetCount("Mars", 0));
+        // Location selection matches nothing, so neither does the company facet
+        assertThat(counts.get("company")).containsExactly(new FacetCount("Acme", 0));
+    }
+
+    @Test
+    void failedStartupBuildIsRetried() throws InterruptedException {
+        when(jobRepository.findSummariesByIdGreaterThan(any(), any()))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(List.of(new JobSummary(1L, "Job 1", "Acme", "Remote", null, "rss")), List.of());
+        FacetIndex index = new FacetIndex(jobRepository, MAX_VALUES, Duration.ofMinutes(15), 64);
+
+        index.startRefreshing();
+        try {
+            // First retry comes 5s after the failure
+            for (int i = 0; i < 200 && !index.isReady(); i++) {
+                Thread.sleep(50);
+            }
+        } finally {
+            index.stop();
+        }
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.counts(null, new FacetFilter()).get("company")).containsExactly(new FacetCount("Acme", 1));
+    }
+
+    private FacetIndex rebuiltIndex() {
+        when(jobRepository.findSummariesByIdGreaterThan(any(), any())).thenAnswer(invocation -> {
+            Long after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return live.entrySet().stream()
+                    .filter(entry -> entry.getKey() > after)
+                    .limit(limit)
+                    .map(entry -> new JobSummary(entry.getKey(), "Job " + entry.getKey(), entry.getValue()[0],
+                            entry.getValue()[1], "https://jobs.example.com/" + entry.getKey(), entry.getValue()[2]))
+                    .toList();
+        });
+        FacetIndex index = new FacetIndex(jobRepository, MAX_VALUES, Duration.ofMinutes(15), 64);
+        index.rebuild();
+        assertThat(index.isReady()).isTrue();
+        return index;
+    }
+
+    private Map<String, Integer> expected(Set<Long> base, List<List<String>> selection, int facet) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Map.Entry<Long, String[]> entry : live.entrySet()) {
+            if (base != null && !base.contains(entry.getKey())) {
+                continue;
+            }
+            boolean matches = true;
+            for (int other = 0; other < selection.size(); other++) {
+                List<String> selected = selection.get(other);
+                if (other != facet && !selected.isEmpty() && !selected.contains(entry.getValue()[other])) {
+                    matches = false;
+                }
+            }
+            String value = entry.getValue()[facet];
+            if (matches && value != null) {
+                counts.merge(value, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static void assertFacet(List<FacetCount> actual, Map<String, Integer> expected, List<String> selected) {
+        for (FacetCount count : actual) {
+            assertThat(count.getCount()).as(count.getValue()).isEqualTo(expected.getOrDefault(count.getValue(), 0));
+        }
+        for (String value : selected) {
+            assertThat(actual).extracting(FacetCount::getValue).contains(value);
+        }
+        // Leading entries are the top counts, largest first
+        List<Integer> top = expected.values().stream().sorted(Comparator.reverseOrder()).limit(MAX_VALUES).toList();
+        assertThat(actual.subList(0, top.size())).extracting(FacetCount::getCount).isEqualTo(top);
+    }
+
+    private String[] randomValues() {
+        return new String[]{
+                COMPANIES[random.nextInt(COMPANIES.length)],
+                LOCATIONS[random.nextInt(LOCATIONS.length)],
+                SOURCES[random.nextInt(SOURCES.length)]};
+    }
+
+    private List<List<String>> randomSelection() {
+        List<List<String>> selection = new ArrayList<>();
+        for (String[] values : SELECTABLE) {
+            List<String> selected = new ArrayList<>();
+            for (String value : values) {
+                if (random.nextInt(4) == 0) {
+                    selected.add(value);
+                }
+            }
+            selection.add(selected);
+        }
+        return selection;
+    }
+
+    private static Job job(long id, String[] values) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle("Job " + id);
+        job.setCompany(values[0]);
+        job.setLocation(values[1]);
+        job.setSource(values[2]);
+        job.setUrl("https://jobs.example.com/" + id);
+        return job;
+    }
+}
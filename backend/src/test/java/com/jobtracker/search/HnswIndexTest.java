@@ -0,0 +1,186 @@
+package com.jobtracker.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Recall of the approximate search against exact (brute-force) cosine search on random vectors.
+ */
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+    private static final int K = 10;
+    private static final int EF = 64;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void recallAgainstExactSearch() {
+        Map<Long, float[]> vectors = randomVectors(3000);
+        HnswIndex index = build(vectors);
+
+        assertThat(index.size()).isEqualTo(vectors.size());
+        assertThat(recall(index, vectors, 200)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void removedJobsAreNeverReturned() {
+        Map<Long, float[]> vectors = randomVectors(3000);
+        HnswIndex index = build(vectors);
+
+        Set<Long> removed = new HashSet<>();
+        for (long id = 1; id <= vectors.size(); id += 5) {
+            assertThat(index.remove(id)).isTrue();
+            removed.add(id);
+        }
+        removed.forEach(vectors::remove);
+
+        assertThat(index.remove(1L)).as("already removed").isFalse();
+        assertThat(index.size()).isEqualTo(vectors.size());
+        for (int i = 0; i < 200; i++) {
+            long[] hits = index.search(randomVector(), K, EF);
+            assertThat(hits).hasSize(K);
+            for (long hit : hits) {
+                assertThat(removed).doesNotContain(hit);
+            }
+        }
+        assertThat(recall(index, vectors, 200)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void reAddingAJobReplacesItsVector() {
+        Map<Long, float[]> vectors = randomVectors(1000);
+        HnswIndex index = build(vectors);
+
+        float[] replacement = randomVector();
+        index.add(42L, replacement);
+        vectors.put(42L, replacement);
+        index.remove(43L);
+        index.add(43L, vectors.get(43L));
+
+        assertThat(index.size()).isEqualTo(vectors.size());
+        assertThat(index.search(replacement, 1, EF)).containsExactly(42L);
+        assertThat(index.search(vectors.get(43L), 1, EF)).containsExactly(43L);
+        long[] hits = index.search(replacement, vectors.size(), vectors.size());
+        assertThat(Arrays.stream(hits).distinct().count()).as("no duplicate job ids").isEqualTo(hits.length);
+        assertThat(recall(index, vectors, 100)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void emptyAndFullyRemovedIndexReturnNothing() {
+        HnswIndex index = new HnswIndex(DIMENSION, 16, 100, 0, 42);
+        assertThat(index.search(randomVector(), K, EF)).isEmpty();
+
+        index.add(1L, randomVector());
+        index.remove(1L);
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search(randomVector(), K, EF)).isEmpty();
+    }
+
+    @Test
+    void concurrentSearchesOnTwoGenerationsMatchSequentialResults() throws Exception {
+        // Indexes of different sizes share the pooled scratch space, as the old and new one do during a reload
+        HnswIndex small = build(randomVectors(200));
+        HnswIndex large = build(randomVectors(2000));
+        float[][] queries = new float[100][];
+        long[][] expected = new long[queries.length][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = randomVector();
+            expected[i] = (i % 2 == 0 ? small : large).search(queries[i], K, EF);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> matches = new ArrayList<>();
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < queries.length; i++) {
+                    int query = i;
+                    matches.add(executor.submit(() -> Arrays.equals(expected[query],
+                            (query % 2 == 0 ? small : large).search(queries[query], K, EF))));
+                }
+            }
+            for (Future<Boolean> match : matches) {
+                assertThat(match.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsWrongDimension() {
+        HnswIndex index = new HnswIndex(DIMENSION, 16, 100, 16, 42);
+
+        assertThatThrownBy(() -> index.add(1L, new float[DIMENSION + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private HnswIndex build(Map<Long, float[]> vectors) {
+        // Small initial capacity so growing the arrays is covered too
+        HnswIndex index = new HnswIndex(DIMENSION, 16, 100, 100, 42);
+        vectors.forEach(index::add);
+        return index;
+    }
+
+    // Mean fraction of the exact top k found by the index
+    private double recall(HnswIndex index, Map<Long, float[]> vectors, int queries) {
+        int found = 0;
+        for (int i = 0; i < queries; i++) {
+            float[] query = randomVector();
+            Set<Long> exact = new HashSet<>();
+            vectors.entrySet().stream()
+                    .sorted(Comparator.comparingDouble(entry -> -cosine(query, entry.getValue())))
+                    .limit(K)
+                    .forEach(entry -> exact.add(entry.getKey()));
+            for (long hit : index.search(query, K, EF)) {
+                if (exact.contains(hit)) {
+                    found++;
+                }
+            }
+        }
+        return (double) found / (queries * K);
+    }
+
+    private Map<Long, float[]> randomVectors(int count) {
+        Map<Long, float[]> vectors = new HashMap<>();
+        IntStream.rangeClosed(1, count).forEach(id -> vectors.put((long) id, randomVector()));
+        return vectors;
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+}
@@ -0,0 +1,282 @@
+package com.jobtracker.search;
+
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.util.TextTokenizer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * BM25 ranking checked against a straightforward re-implementation of the scoring, plus
+ * prefix expansion, field boosts and ordinal compaction under heavy update churn.
+ */
+class JobSearchIndexTest {
+
+    private static final String[] WORDS = {"java", "javafx", "javascript", "python", "pythonic", "data",
+            "database", "senior", "engineer", "engineering", "developer", "lead", "ops", "devops", "cloud",
+            "berlin", "remote", "acme", "globex", "backend"};
+    private static final int DESCRIPTION_MAX_TOKENS = 20;
+    private static final double TOLERANCE = 1e-4;
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final Random random = new Random(5);
+    private final Map<Long, Job> live = new TreeMap<>();
+
+    @Test
+    void rankingMatchesReferenceBm25() {
+        for (long id = 1; id <= 300; id++) {
+            live.put(id, randomJob(id));
+        }
+        JobSearchIndex index = rebuiltIndex(4);
+
+        for (String query : new String[]{"java", "ja", "python developer", "data", "senior java engineer",
+                "eng", "devops cloud", "berlin remote", "acme backend lead", "dat pyth", "nothing"}) {
+            for (int limit : new int[]{1, 10, 1000}) {
+                List<Long> hits = index.search(query, limit);
+                Map<Long, Double> expected = referenceScores(query, 4);
+
+                assertThat(hits).as(query).hasSize(Math.min(limit, expected.size()));
+                assertThat(new HashSet<>(hits)).as("no duplicates").hasSize(hits.size());
+                for (int i = 1; i < hits.size(); i++) {
+                    assertThat(expected.get(hits.get(i)))
+                            .as("%s: rank %d", query, i)
+                            .isLessThanOrEqualTo(expected.get(hits.get(i - 1)) + TOLERANCE);
+                }
+                if (!hits.isEmpty()) {
+                    // Nothing left out scores better than the weakest hit returned
+                    double weakest = expected.get(hits.get(hits.size() - 1));
+                    expected.forEach((id, score) -> {
+                        if (!hits.contains(id)) {
+                            assertThat(score).as("%s: missed %d", query, id).isLessThanOrEqualTo(weakest + TOLERANCE);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    @Test
+    void titleHitsOutrankDescriptionHitsAndExactOutranksPrefix() {
+        // Same company, location and length everywhere, so only the tested difference counts
+        live.put(1L, job(1L, "Java Developer", "Acme", "Berlin", "Backend services"));
+        live.put(2L, job(2L, "JavaFX Developer", "Acme", "Berlin", "Desktop apps"));
+        live.put(3L, job(3L, "Scala Developer", "Acme", "Berlin", "Go code"));
+        live.put(4L, job(4L, "Go Developer", "Acme", "Berlin", "Scala code"));
+        live.put(5L, job(5L, "Data Engineer", "Acme", "Berlin", "Python pipelines"));
+        JobSearchIndex index = rebuiltIndex(16);
+
+        assertThat(index.search("java", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("scala", 10)).containsExactly(3L, 4L);
+        assertThat(index.search("go", 10)).containsExactly(4L, 3L);
+        assertThat(index.search("jav", 10)).hasSize(2);
+        // Single letters are not expanded
+        assertThat(index.search("j", 10)).isEmpty();
+        // A rare term weighs more than one most jobs have
+        assertThat(index.search("developer engineer", 10)).startsWith(5L).hasSize(5);
+        assertThat(index.search("developer engineer", 2)).hasSize(2);
+    }
+
+    @Test
+    void prefixExpansionIsCappedInTermOrder() {
+        live.put(1L, job(1L, "javaee", null, null, null));
+        live.put(2L, job(2L, "javafx", null, null, null));
+        live.put(3L, job(3L, "javascript", null, null, null));
+        live.put(4L, job(4L, "java", null, null, null));
+        JobSearchIndex index = rebuiltIndex(2);
+
+        // Exact "java" plus the first two indexed terms it is a prefix of
+        assertThat(index.search("java", 10)).startsWith(4L).hasSize(3).doesNotContain(3L);
+        assertThat(index.search("javas", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void updatesAndDeletesKeepOrdinalsBounded() {
+        for (long id = 1; id <= 500; id++) {
+            live.put(id, randomJob(id));
+        }
+        JobSearchIndex index = rebuiltIndex(64);
+        assertThat(index.ordinalCount()).isEqualTo(500);
+
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(600) + 1;
+            if (random.nextInt(10) == 0) {
+                index.onJobChanged(JobChangedEvent.deleted(job(id, null, null, null, null)));
+                live.remove(id);
+            } else {
+                Job job = randomJob(id);
+                index.onJobChanged(live.containsKey(id)
+                        ? JobChangedEvent.updated(job)
+                        : JobChangedEvent.created(List.of(job)));
+                live.put(id, job);
+            }
+            // Dead ordinals are compacted away after at most ~1000 deletes
+            assertThat(index.ordinalCount()).isLessThanOrEqualTo(index.size() + 1001);
+        }
+
+        assertThat(index.size()).isEqualTo(live.size());
+        for (String word : WORDS) {
+            assertThat(new TreeSet<>(index.search(word, 10_000))).as(word).isEqualTo(matching(word));
+        }
+
+        index.rebuild();
+        assertThat(index.ordinalCount()).isEqualTo(live.size());
+        for (String query : new String[]{"java", "python developer", "eng"}) {
+            assertThat(new TreeSet<>(index.search(query, 10_000)))
+                    .isEqualTo(referenceScores(query, 64).keySet());
+        }
+    }
+
+    @Test
+    void failedStartupBuildIsRetried() throws InterruptedException {
+        when(jobRepository.findByIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(List.of(job(1L, "Java Developer", null, null, null)), List.of());
+        JobSearchIndex index = new JobSearchIndex(jobRepository, 16, DESCRIPTION_MAX_TOKENS, 64);
+
+        index.rebuildOnStartup();
+        try {
+            // First retry comes 5s after the failure
+            for (int i = 0; i < 200 && !index.isReady(); i++) {
+                Thread.sleep(50);
+            }
+        } finally {
+            index.stop();
+        }
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("java", 10)).containsExactly(1L);
+    }
+
+    private JobSearchIndex rebuiltIndex(int maxPrefixExpansions) {
+        when(jobRepository.findByIdGreaterThanOrderByIdAsc(any(), any())).thenAnswer(invocation -> {
+            Long after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return live.entrySet().stream()
+                    .filter(entry -> entry.getKey() > after)
+                    .limit(limit)
+                    .map(Map.Entry::getValue)
+                    .toList();
+        });
+        JobSearchIndex index = new JobSearchIndex(jobRepository, maxPrefixExpansions, DESCRIPTION_MAX_TOKENS, 64);
+        index.rebuild();
+        assertThat(index.isReady()).isTrue();
+        return index;
+    }
+
+    /**
+     * BM25 with field boosts folded into term frequency; prefix expansions over the indexed
+     * vocabulary score at 0.6. Only valid while no job was deleted or updated (dead postings
+     * still count towards df until compaction).
+     */
+    private Map<Long, Double> referenceScores(String query, int maxPrefixExpansions) {
+        Map<Long, Map<String, Integer>> termFreqs = new HashMap<>();
+        Map<Long, Integer> lengths = new HashMap<>();
+        TreeMap<String, Integer> docFreqs = new TreeMap<>();
+        long totalLength = 0;
+        for (Job job : live.values()) {
+            Map<String, Integer> freqs = new HashMap<>();
+            int length = count(freqs, job.getTitle(), 3, Integer.MAX_VALUE)
+                    + count(freqs, job.getCompany(), 2, Integer.MAX_VALUE)
+                    + count(freqs, job.getLocation(), 1, Integer.MAX_VALUE)
+                    + count(freqs, job.getDescription(), 1, DESCRIPTION_MAX_TOKENS);
+            termFreqs.put(job.getId(), freqs);
+            lengths.put(job.getId(), length);
+            totalLength += length;
+            freqs.keySet().forEach(term -> docFreqs.merge(term, 1, Integer::sum));
+        }
+        double avgLength = Math.max(1.0, (double) totalLength / live.size());
+
+        Map<Long, Double> scores = new HashMap<>();
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+        for (String term : terms.subList(0, Math.min(8, terms.size()))) {
+            Map<String, Double> weighted = new HashMap<>();
+            if (docFreqs.containsKey(term)) {
+                weighted.put(term, 1.0);
+            }
+            if (term.length() >= 2) {
+                docFreqs.tailMap(term, false).keySet().stream()
+                        .takeWhile(candidate -> candidate.startsWith(term))
+                        .limit(maxPrefixExpansions)
+                        .forEach(candidate -> weighted.put(candidate, 0.6));
+            }
+            weighted.forEach((indexed, weight) -> {
+                int df = docFreqs.get(indexed);
+                double idf = Math.log(1 + (live.size() - df + 0.5) / (df + 0.5));
+                termFreqs.forEach((id, freqs) -> {
+                    Integer tf = freqs.get(indexed);
+                    if (tf != null) {
+                        double norm = tf * 2.2 / (tf + 1.2 * (0.25 + 0.75 * lengths.get(id) / avgLength));
+                        scores.merge(id, weight * idf * norm, Double::sum);
+                    }
+                });
+            });
+        }
+        return scores;
+    }
+
+    private static int count(Map<String, Integer> freqs, String text, int boost, int maxTokens) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        int count = Math.min(tokens.size(), maxTokens);
+        for (int i = 0; i < count; i++) {
+            freqs.merge(tokens.get(i), boost, Integer::sum);
+        }
+        return count * boost;
+    }
+
+    // Live jobs with a token the word is a prefix of (expansions are not capped in that test)
+    private Set<Long> matching(String word) {
+        Set<Long> ids = new TreeSet<>();
+        for (Job job : live.values()) {
+            List<String> tokens = new ArrayList<>();
+            tokens.addAll(TextTokenizer.tokenize(job.getTitle()));
+            tokens.addAll(TextTokenizer.tokenize(job.getCompany()));
+            tokens.addAll(TextTokenizer.tokenize(job.getLocation()));
+            List<String> description = TextTokenizer.tokenize(job.getDescription());
+            tokens.addAll(description.subList(0, Math.min(description.size(), DESCRIPTION_MAX_TOKENS)));
+            if (tokens.stream().anyMatch(token -> token.startsWith(word))) {
+                ids.add(job.getId());
+            }
+        }
+        return ids;
+    }
+
+    private Job randomJob(long id) {
+        return job(id, words(1 + random.nextInt(4)), words(1), random.nextBoolean() ? words(1) : null,
+                words(random.nextInt(40)));
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static Job job(long id, String title, String company, String location, String description) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(title);
+        job.setCompany(company);
+        job.setLocation(location);
+        job.setDescription(description);
+        return job;
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobtracker.search;
+
+import com.jobtracker.util.LongDoubleHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fused rankings checked against a brute-force sum and stable sort (ties keep first-seen order).
+ */
+class RankFusionTest {
+
+    private final Random random = new Random(13);
+
+    @Test
+    void fusedOrderMatchesBruteForce() {
+        for (int round = 0; round < 200; round++) {
+            List<RankFusion.Ranking> rankings = new ArrayList<>();
+            int retrievers = 1 + random.nextInt(3);
+            for (int r = 0; r < retrievers; r++) {
+                List<Long> ids = new ArrayList<>();
+                int size = random.nextInt(300);
+                for (int i = 0; i < size; i++) {
+                    ids.add((long) random.nextInt(400));
+                }
+                rankings.add(new RankFusion.Ranking("r" + r, ids, 0.5 + random.nextInt(3) * 0.5, 1 + random.nextInt(80)));
+            }
+            int topK = 1 + random.nextInt(150);
+
+            Map<Long, Double> expected = bruteForce(rankings);
+            List<Long> expectedTop = expected.entrySet().stream()
+                    .sorted(Comparator.comparingDouble(Map.Entry<Long, Double>::getValue).reversed())
+                    .limit(topK)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            assertThat(RankFusion.fuse(rankings, topK)).containsExactlyElementsOf(expectedTop);
+            LongDoubleHashMap scores = RankFusion.scores(rankings);
+            assertThat(scores.size()).isEqualTo(expected.size());
+            int index = 0;
+            for (Map.Entry<Long, Double> entry : expected.entrySet()) {
+                assertThat(scores.keyAt(index)).isEqualTo(entry.getKey());
+                assertThat(scores.valueAt(index)).isEqualTo(entry.getValue());
+                index++;
+            }
+        }
+    }
+
+    @Test
+    void idsFoundByBothRetrieversComeFirst() {
+        List<Long> fused = RankFusion.fuse(List.of(
+                RankFusion.Ranking.of("lexical", List.of(1L, 2L, 3L)),
+                RankFusion.Ranking.of("semantic", List.of(4L, 3L, 5L))), 10);
+
+        // 3 is in both lists; 1 and 4 tie, the lexical one was seen first
+        assertThat(fused).containsExactly(3L, 1L, 4L, 2L, 5L);
+    }
+
+    @Test
+    void weightsShiftTheBalance() {
+        List<Long> fused = RankFusion.fuse(List.of(
+                new RankFusion.Ranking("lexical", List.of(1L, 2L), 1.0, 60),
+                new RankFusion.Ranking("semantic", List.of(3L, 4L), 2.0, 60)), 3);
+
+        assertThat(fused).containsExactly(3L, 4L, 1L);
+    }
+
+    @Test
+    void emptyInputsGiveEmptyResults() {
+        assertThat(RankFusion.fuse(List.of(), 10)).isEmpty();
+        assertThat(RankFusion.fuse(List.of(RankFusion.Ranking.of("lexical", List.of())), 10)).isEmpty();
+        assertThat(RankFusion.fuse(List.of(RankFusion.Ranking.of("lexical", List.of(1L))), 0)).isEmpty();
+    }
+
+    // Summed in the same order as RankFusion, so scores compare exactly
+    private static Map<Long, Double> bruteForce(List<RankFusion.Ranking> rankings) {
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        for (RankFusion.Ranking ranking : rankings) {
+            for (int i = 0; i < ranking.ids().size(); i++) {
+                scores.merge(ranking.ids().get(i), ranking.weight() / (ranking.k() + i + 1), Double::sum);
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,67 @@
+package com.jobtracker.search;
+
+import com.jobtracker.client.AiServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SemanticIndexTest {
+
+    private final AiServiceClient aiServiceClient = mock(AiServiceClient.class);
+    private final SemanticIndex semanticIndex = new SemanticIndex(aiServiceClient, new SimpleMeterRegistry(), true,
+            16, 100, 64, Duration.ofMinutes(30), Duration.ofHours(1), 100);
+
+    @Test
+    void completeExportIsSwappedIn() throws IOException {
+        export(2, 2);
+
+        semanticIndex.reload();
+
+        assertThat(semanticIndex.isReady()).isTrue();
+        when(aiServiceClient.embedQuery("java")).thenReturn(new float[]{0, 1});
+        assertThat(semanticIndex.search("java", 1)).containsExactly(2L);
+    }
+
+    @Test
+    void exportWithWrongCountIsRejected() throws IOException {
+        export(2, 3);
+
+        semanticIndex.reload();
+
+        assertThat(semanticIndex.isReady()).isFalse();
+    }
+
+    @Test
+    void failedExportKeepsThePreviousIndex() throws IOException {
+        export(2, 2);
+        semanticIndex.reload();
+        doAnswer(invocation -> {
+            throw new IOException("Embeddings export ended before its trailer");
+        }).when(aiServiceClient).exportEmbeddings(any());
+
+        semanticIndex.reload();
+
+        when(aiServiceClient.embedQuery("java")).thenReturn(new float[]{1, 0});
+        assertThat(semanticIndex.search("java", 1)).containsExactly(1L);
+    }
+
+    // Job 1 along x, job 2 along y, then a trailer with the given count
+    private void export(long announced, long trailerCount) throws IOException {
+        doAnswer(invocation -> {
+            AiServiceClient.EmbeddingSink sink = invocation.getArgument(0);
+            sink.start(2, announced);
+            sink.accept(1L, new float[]{1, 0});
+            sink.accept(2L, new float[]{0, 1});
+            sink.end(trailerCount);
+            return null;
+        }).when(aiServiceClient).exportEmbeddings(any());
+    }
+}
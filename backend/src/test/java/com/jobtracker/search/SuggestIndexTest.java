@@ -0,0 +1,202 @@
+package com.jobtracker.search;
+
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.dto.Suggestion;
+import com.jobtracker.entity.Job;
+import com.jobtracker.event.JobChangedEvent;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Completions checked against a brute-force scan over all live phrases, after a random
+ * sequence of job creates, updates and deletes on top of a rebuilt index.
+ */
+class SuggestIndexTest {
+
+    private static final int MAX_RESULTS = 5;
+    private static final int FAVORITE_WEIGHT = 5;
+    private static final String[] WORDS = {"java", "javascript", "data", "senior", "engineer", "developer",
+            "lead", "dev", "ops", "scientist"};
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final UserFavoriteRepository userFavoriteRepository = mock(UserFavoriteRepository.class);
+    private final Random random = new Random(1);
+    // Expected state: job id -> title, and favorites per job
+    private final Map<Long, String> titles = new TreeMap<>();
+    private final Map<Long, Integer> favorites = new HashMap<>();
+
+    @Test
+    void completionsMatchBruteForce() {
+        for (long id = 1; id <= 200; id++) {
+            titles.put(id, randomTitle());
+            if (random.nextInt(5) == 0) {
+                favorites.put(id, 1 + random.nextInt(3));
+            }
+        }
+        SuggestIndex index = rebuiltIndex();
+
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(300) + 1;
+            if (random.nextInt(3) == 0) {
+                index.onJobChanged(JobChangedEvent.deleted(job(id, null)));
+                titles.remove(id);
+                favorites.remove(id);
+            } else {
+                String title = randomTitle();
+                // An update keeps the job's favorites
+                index.onJobChanged(JobChangedEvent.updated(job(id, title)));
+                titles.put(id, title);
+            }
+        }
+
+        for (String prefix : new String[]{"j", "ja", "java", "java ", "d", "de", "dev", "s", "sen", "e", "l", "o",
+                "data s", "java d", "senior java", "x", "developer lead"}) {
+            assertThat(index.suggest(prefix, MAX_RESULTS)).extracting(Suggestion::getText)
+                    .as(prefix)
+                    .containsExactlyElementsOf(expected(prefix));
+        }
+        assertThat(index.size()).isEqualTo(titles.values().stream().distinct().count());
+    }
+
+    @Test
+    void completesFromWordStartsAndRanksByJobsAndFavorites() {
+        titles.put(1L, "Senior Java Developer");
+        titles.put(2L, "Java Developer");
+        titles.put(3L, "Java Developer");
+        titles.put(4L, "JavaScript Engineer");
+        favorites.put(4L, 1);
+        SuggestIndex index = rebuiltIndex();
+
+        // 2 jobs vs 1 job + 1 favorite (weight 6)
+        assertThat(index.suggest("jav", 10)).extracting(Suggestion::getText)
+                .containsExactly("JavaScript Engineer", "Java Developer", "Senior Java Developer");
+        assertThat(index.suggest("java ", 10)).extracting(Suggestion::getText)
+                .containsExactly("Java Developer", "Senior Java Developer");
+        assertThat(index.suggest("Developer", 10)).extracting(Suggestion::getText)
+                .containsExactly("Java Developer", "Senior Java Developer");
+        assertThat(index.suggest("engineer j", 10)).isEmpty();
+        assertThat(index.suggest("java d", 1)).containsExactly(new Suggestion("Java Developer", "title", 2));
+    }
+
+    @Test
+    void phraseUsedAsCompanyAndLocationCountsAllJobs() {
+        SuggestIndex index = new SuggestIndex(jobRepository, userFavoriteRepository, new SimpleMeterRegistry(),
+                MAX_RESULTS, FAVORITE_WEIGHT, Duration.ofMinutes(15), 64);
+        index.onJobChanged(JobChangedEvent.created(List.of(job(1L, "Engineer", "Berlin", "Berlin"),
+                job(2L, "Engineer", "Acme", "Berlin"))));
+
+        assertThat(index.suggest("ber", 10)).containsExactly(new Suggestion("Berlin", "location", 3));
+
+        index.onJobChanged(JobChangedEvent.deleted(job(2L, null)));
+
+        assertThat(index.suggest("acme", 10)).isEmpty();
+        assertThat(index.suggest("ber", 10)).extracting(Suggestion::getJobCount).containsExactly(2);
+    }
+
+    @Test
+    void prefixIsNormalizedLikePhrases() {
+        titles.put(1L, "Java Developer");
+        SuggestIndex index = rebuiltIndex();
+
+        assertThat(index.suggest("  ", 10)).isEmpty();
+        assertThat(index.suggest("java", 0)).isEmpty();
+        assertThat(index.suggest("dev\u0000el", 10)).extracting(Suggestion::getText).containsExactly("Java Developer");
+        assertThat(index.suggest(" JAVA\tdev", 10)).extracting(Suggestion::getText).containsExactly("Java Developer");
+    }
+
+    private SuggestIndex rebuiltIndex() {
+        when(userFavoriteRepository.countFavoritesPerJob()).thenReturn(favorites.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), (long) entry.getValue()})
+                .toList());
+        when(jobRepository.findSummariesByIdGreaterThan(any(), any())).thenAnswer(invocation -> {
+            Long after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return titles.entrySet().stream()
+                    .filter(entry -> entry.getKey() > after)
+                    .limit(limit)
+                    .map(entry -> new JobSummary(entry.getKey(), entry.getValue(), null, null, null, null))
+                    .toList();
+        });
+        SuggestIndex index = new SuggestIndex(jobRepository, userFavoriteRepository, new SimpleMeterRegistry(),
+                MAX_RESULTS, FAVORITE_WEIGHT, Duration.ofMinutes(15), 64);
+        index.rebuild();
+        assertThat(index.isReady()).isTrue();
+        return index;
+    }
+
+    // Phrases matching the prefix at their start or at one of the first word starts, best first
+    private List<String> expected(String prefix) {
+        String key = SuggestIndex.normalize(prefix) + (prefix.endsWith(" ") ? " " : "");
+        Map<String, Long> weights = new HashMap<>();
+        titles.forEach((id, title) -> weights.merge(title, 1L + FAVORITE_WEIGHT * favorites.getOrDefault(id, 0), Long::sum));
+        List<String> result = new ArrayList<>();
+        weights.entrySet().stream()
+                .filter(entry -> completes(entry.getKey(), key))
+                .sorted(Comparator.<Map.Entry<String, Long>>comparingLong(Map.Entry::getValue).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(MAX_RESULTS)
+                .forEach(entry -> result.add(entry.getKey()));
+        return result;
+    }
+
+    private static boolean completes(String phrase, String key) {
+        if (phrase.startsWith(key)) {
+            return true;
+        }
+        int from = 0;
+        // The phrase start plus three more word starts
+        for (int anchor = 1; anchor < 4; anchor++) {
+            int space = phrase.indexOf(' ', from);
+            if (space < 0) {
+                return false;
+            }
+            if (phrase.startsWith(key, space + 1)) {
+                return true;
+            }
+            from = space + 1;
+        }
+        return false;
+    }
+
+    private String randomTitle() {
+        StringBuilder title = new StringBuilder();
+        int words = 1 + random.nextInt(5);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+
+    private static Job job(long id, String title) {
+        return job(id, title, null, null);
+    }
+
+    private static Job job(long id, String title, String company, String location) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(title);
+        job.setCompany(company);
+        job.setLocation(location);
+        return job;
+    }
+}
@@ -0,0 +1,101 @@
+package com.jobtracker.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final CatalogVersionService service =
+            new CatalogVersionService(jdbcTemplate, redis, mock(RedisMessageListenerContainer.class));
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(values);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT CASE"), eq(Long.class))).thenReturn(7L);
+    }
+
+    @Test
+    void startsFromTheSequence() {
+        service.init();
+
+        assertThat(service.current()).isEqualTo(7L);
+    }
+
+    @Test
+    void continuesAboveTheLegacyRedisCounter() {
+        when(values.get("jobs:catalog:version")).thenReturn("40");
+
+        service.init();
+
+        verify(jdbcTemplate).queryForObject(startsWith("SELECT setval"), eq(Long.class), eq(40L));
+    }
+
+    @Test
+    void bumpTakesTheNextSequenceValueAndPublishesIt() {
+        service.init();
+        when(jdbcTemplate.queryForObject(startsWith("SELECT nextval"), eq(Long.class))).thenReturn(8L);
+
+        assertThat(service.bump()).isEqualTo(8L);
+        assertThat(service.current()).isEqualTo(8L);
+        verify(redis).convertAndSend("jobs:catalog:version", "8");
+    }
+
+    @Test
+    void bumpDoesNotDependOnRedis() {
+        service.init();
+        when(jdbcTemplate.queryForObject(startsWith("SELECT nextval"), eq(Long.class))).thenReturn(8L, 9L);
+        doThrow(new RedisConnectionFailureException("down")).when(redis).convertAndSend(anyString(), anyString());
+
+        service.bump();
+
+        assertThat(service.bump()).isEqualTo(9L);
+        assertThat(service.current()).isEqualTo(9L);
+    }
+
+    @Test
+    void failedBumpKeepsTheVersion() {
+        service.init();
+        when(jdbcTemplate.queryForObject(startsWith("SELECT nextval"), eq(Long.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThat(service.bump()).isEqualTo(7L);
+    }
+
+    @Test
+    void otherNodesOnlyMoveTheVersionForward() {
+        service.init();
+
+        service.onMessage(message("12"), null);
+        service.onMessage(message("10"), null);
+        service.onMessage(message("garbage"), null);
+
+        assertThat(service.current()).isEqualTo(12L);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("jobs:catalog:version".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
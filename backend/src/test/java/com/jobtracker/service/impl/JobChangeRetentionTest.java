@@ -0,0 +1,37 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.repository.JobChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobChangeRetentionTest {
+
+    private final JobChangeRepository jobChangeRepository = mock(JobChangeRepository.class);
+    private final Duration retention = Duration.ofDays(7);
+    private final JobChangeRetention cleanup = new JobChangeRetention(jobChangeRepository, retention, Duration.ofHours(1), 100);
+
+    @Test
+    void deletesBatchesUntilOneComesBackShort() {
+        when(jobChangeRepository.deleteOlderThan(retention, 100)).thenReturn(100, 100, 42);
+
+        assertThat(cleanup.purge()).isEqualTo(242);
+        verify(jobChangeRepository, times(3)).deleteOlderThan(retention, 100);
+    }
+
+    @Test
+    void failureStopsTheRunWithoutThrowing() {
+        when(jobChangeRepository.deleteOlderThan(retention, 100))
+                .thenReturn(100)
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        assertThat(cleanup.purge()).isEqualTo(100);
+    }
+}
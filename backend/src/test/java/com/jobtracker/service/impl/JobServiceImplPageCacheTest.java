@@ -0,0 +1,181 @@
+package com.jobtracker.service.impl;
+
+import com.jobtracker.client.AiCircuitBreaker;
+import com.jobtracker.client.AiServiceClient;
+import com.jobtracker.dto.FacetCount;
+import com.jobtracker.dto.FacetFilter;
+import com.jobtracker.dto.JobPage;
+import com.jobtracker.dto.JobSummary;
+import com.jobtracker.repository.JobChangeRepository;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.repository.UserFavoriteRepository;
+import com.jobtracker.search.FacetIndex;
+import com.jobtracker.search.JobSearchIndex;
+import com.jobtracker.search.SearchResultCache;
+import com.jobtracker.search.SemanticIndex;
+import com.jobtracker.search.SuggestIndex;
+import com.jobtracker.service.CatalogVersionService;
+import com.jobtracker.service.JobIntakeService;
+import com.jobtracker.service.JobService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The page cache key must cover the facet filter and the facets flag, with the filter
+ * in canonical form. Each test uses its own catalog version so entries don't carry over.
+ */
+@SpringJUnitConfig(JobServiceImplPageCacheTest.Config.class)
+class JobServiceImplPageCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(JobServiceImpl.class)
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("jobLists");
+        }
+
+        // Lets @Value parse durations such as "800ms" like in the application
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    @Autowired
+    private JobService jobService;
+
+    @MockitoBean(name = "catalogVersionService")
+    private CatalogVersionService catalogVersionService;
+    @MockitoBean
+    private JobRepository jobRepository;
+    @MockitoBean
+    private UserFavoriteRepository userFavoriteRepository;
+    @MockitoBean
+    private JobChangeRepository jobChangeRepository;
+    @MockitoBean
+    private JobSearchIndex jobSearchIndex;
+    @MockitoBean
+    private SearchResultCache searchResultCache;
+    @MockitoBean
+    private EntityManager entityManager;
+    @MockitoBean
+    private JobIntakeService jobIntakeService;
+    @MockitoBean
+    private AiServiceClient aiServiceClient;
+    @MockitoBean
+    private SemanticIndex semanticIndex;
+    @MockitoBean
+    private SuggestIndex suggestIndex;
+    @MockitoBean
+    private FacetIndex facetIndex;
+    @MockitoBean
+    private FavoriteIdsCache favoriteIdsCache;
+    @MockitoBean
+    private AiCircuitBreaker aiCircuitBreaker;
+    @MockitoBean
+    private MeterRegistry meterRegistry;
+    @MockitoBean
+    private ObservationRegistry observationRegistry;
+    @MockitoBean(name = "searchExecutor")
+    private Executor searchExecutor;
+
+    private final JobSummary acme = new JobSummary(1L, "Java Engineer", "Acme", "Berlin", "https://a/1", "rss", "Spring Boot services");
+    private final JobSummary globex = new JobSummary(2L, "Go Engineer", "Globex", "Remote", "https://a/2", "rss", "Kubernetes operators");
+
+    @Test
+    void differentFiltersGetDifferentPages() {
+        when(catalogVersionService.current()).thenReturn(1L);
+        when(jobRepository.findSummaries(any(), anyInt())).thenReturn(List.of(acme), List.of(globex));
+
+        JobPage acmePage = jobService.getJobsPage(null, 20, filter("Acme"), false);
+        JobPage globexPage = jobService.getJobsPage(null, 20, filter("Globex"), false);
+
+        assertThat(acmePage.getItems()).containsExactly(acme);
+        assertThat(globexPage.getItems()).containsExactly(globex);
+        assertThat(jobService.getJobsPage(null, 20, filter("Acme"), false).getItems()).containsExactly(acme);
+        verify(jobRepository, times(2)).findSummaries(any(), anyInt());
+    }
+
+    @Test
+    void sameSelectionInAnotherOrderHitsTheCache() {
+        when(catalogVersionService.current()).thenReturn(2L);
+        when(jobRepository.findSummaries(any(), anyInt())).thenReturn(List.of(acme, globex));
+
+        JobPage first = jobService.getJobsPage(null, 20, filter("Acme", "Globex"), false);
+        JobPage second = jobService.getJobsPage(null, 20, filter("Globex", "Acme", "Globex"), false);
+
+        assertThat(second).isEqualTo(first);
+        verify(jobRepository, times(1)).findSummaries(any(), anyInt());
+    }
+
+    @Test
+    void valuesDoNotRunIntoEachOther() {
+        when(catalogVersionService.current()).thenReturn(3L);
+        when(jobRepository.findSummaries(any(), anyInt())).thenReturn(List.of(acme), List.of(globex));
+
+        jobService.getJobsPage(null, 20, filter("a,b"), false);
+        jobService.getJobsPage(null, 20, filter("a", "b"), false);
+
+        verify(jobRepository, times(2)).findSummaries(any(), anyInt());
+    }
+
+    @Test
+    void pageWithFacetsIsCachedApartFromPlainPage() {
+        when(catalogVersionService.current()).thenReturn(4L);
+        when(jobRepository.findSummaries(any(), anyInt())).thenReturn(List.of(acme));
+        when(facetIndex.isReady()).thenReturn(true);
+        Map<String, List<FacetCount>> counts = Map.of("company", List.of(new FacetCount("Acme", 1)));
+        when(facetIndex.counts(isNull(), any())).thenReturn(counts);
+
+        JobPage plain = jobService.getJobsPage(null, 20, new FacetFilter(), false);
+        JobPage withFacets = jobService.getJobsPage(null, 20, new FacetFilter(), true);
+
+        assertThat(plain.getFacets()).isNull();
+        assertThat(withFacets.getFacets()).isEqualTo(counts);
+        assertThat(jobService.getJobsPage(null, 20, new FacetFilter(), true).getFacets()).isEqualTo(counts);
+        verify(jobRepository, times(2)).findSummaries(any(), anyInt());
+    }
+
+    @Test
+    void pageWithoutFacetsIsNotCachedWhileIndexBuilds() {
+        when(catalogVersionService.current()).thenReturn(5L);
+        when(jobRepository.findSummaries(any(), anyInt())).thenReturn(List.of(acme));
+        when(facetIndex.isReady()).thenReturn(false);
+
+        jobService.getJobsPage(null, 20, new FacetFilter(), true);
+        jobService.getJobsPage(null, 20, new FacetFilter(), true);
+
+        verify(jobRepository, times(2)).findSummaries(any(), anyInt());
+    }
+
+    private static FacetFilter filter(String... companies) {
+        return new FacetFilter(List.of(companies), List.of(), List.of());
+    }
+}
@@ -0,0 +1,67 @@
+package com.jobtracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAndStaysNearTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("https://example.com/jobs/" + i);
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("https://example.com/jobs/" + i)).isTrue();
+        }
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("https://example.org/other/" + i))
+                .count();
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() throws Exception {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        filter.put(thread + ":" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(filter.mightContain(t + ":" + i)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("https://example.com")).isFalse();
+    }
+}
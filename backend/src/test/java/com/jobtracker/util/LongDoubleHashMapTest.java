@@ -0,0 +1,79 @@
+package com.jobtracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Random operations checked against a LinkedHashMap (same insertion order), across growth and clear.
+ */
+class LongDoubleHashMapTest {
+
+    private final Random random = new Random(11);
+
+    @Test
+    void behavesLikeAnInsertionOrderedMap() {
+        LongDoubleHashMap map = new LongDoubleHashMap(4);
+        Map<Long, Double> expected = new LinkedHashMap<>();
+        Map<Long, Integer> insertionIndex = new HashMap<>();
+
+        for (int round = 0; round < 5; round++) {
+            int keyRange = 10 << (round * 2);
+            for (int step = 0; step < 20_000; step++) {
+                long key = randomKey(keyRange);
+                double delta = random.nextInt(100) - 50;
+                int index = map.addTo(key, delta);
+                insertionIndex.putIfAbsent(key, insertionIndex.size());
+                expected.merge(key, delta, Double::sum);
+                assertThat(index).isEqualTo(insertionIndex.get(key));
+            }
+            assertContents(map, expected);
+
+            map.clear();
+            expected.clear();
+            insertionIndex.clear();
+            assertThat(map.size()).isZero();
+            assertThat(map.get(randomKey(keyRange), -1.0)).isEqualTo(-1.0);
+        }
+    }
+
+    @Test
+    void handlesExtremeAndCollidingKeys() {
+        LongDoubleHashMap map = new LongDoubleHashMap();
+        long[] keys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, 1L << 33, 3L << 32};
+        for (long key : keys) {
+            map.addTo(key, key == 0 ? 0.5 : 1.0);
+        }
+        map.addTo(0L, 0.25);
+
+        assertThat(map.size()).isEqualTo(keys.length);
+        assertThat(map.get(0L, Double.NaN)).isEqualTo(0.75);
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(map.keyAt(i)).isEqualTo(keys[i]);
+        }
+        assertThat(map.get(42L, Double.NaN)).isNaN();
+    }
+
+    private long randomKey(int range) {
+        // Multiples of a large power of two stress the hash mixing
+        long key = random.nextInt(range);
+        return random.nextBoolean() ? key : key << 20;
+    }
+
+    private static void assertContents(LongDoubleHashMap map, Map<Long, Double> expected) {
+        assertThat(map.size()).isEqualTo(expected.size());
+        List<Long> keys = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(map.keyAt(i)).isEqualTo(keys.get(i));
+            assertThat(map.valueAt(i)).isEqualTo(expected.get(keys.get(i)));
+            assertThat(map.get(keys.get(i), Double.NaN)).isEqualTo(expected.get(keys.get(i)));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.jobtracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScratchPoolTest {
+
+    @Test
+    void releasedObjectsAreReused() {
+        AtomicInteger created = new AtomicInteger();
+        ScratchPool<int[]> pool = new ScratchPool<>(2, () -> new int[created.incrementAndGet()]);
+
+        int[] first = pool.borrow();
+        pool.release(first);
+
+        assertThat(pool.borrow()).isSameAs(first);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void retainsAtMostCapacityObjects() {
+        AtomicInteger created = new AtomicInteger();
+        ScratchPool<StringBuilder> pool = new ScratchPool<>(3, () -> {
+            created.incrementAndGet();
+            return new StringBuilder();
+        });
+
+        // More concurrent borrowers than the capacity each get their own object
+        List<StringBuilder> borrowed = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            borrowed.add(pool.borrow());
+        }
+        assertThat(created).hasValue(10);
+        assertThat(borrowed).doesNotHaveDuplicates();
+
+        borrowed.forEach(pool::release);
+
+        assertThat(pool.idleCount()).isEqualTo(3);
+    }
+}
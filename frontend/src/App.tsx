@@ -13,6 +13,8 @@ import './index.css';
 
 function App() {
   const [jobs, setJobs] = useState<Job[]>([]);
+  const [nextCursor, setNextCursor] = useState<number | null>(null); // null: no more pages (or search results)
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [showLoginModal, setShowLoginModal] = useState(false);
@@ -37,8 +39,9 @@ function App() {
   const loadJobs = async () => {
     try {
       setLoading(true);
-      const jobsData = await jobService.getAllJobs();
-      setJobs(jobsData);
+      const page = await jobService.getJobsPage();
+      setJobs(page.jobs);
+      setNextCursor(page.hasMore ? page.nextCursor : null);
       setError(null);
     } catch (err) {
       setError('Failed to load jobs: ' + (err instanceof Error ? err.message : 'Unknown error'));
@@ -47,11 +50,30 @@ function App() {
     }
   };
 
+  const loadMoreJobs = async () => {
+    if (nextCursor === null) return;
+    try {
+      setLoadingMore(true);
+      const page = await jobService.getJobsPage(nextCursor);
+      setJobs(current => [...current, ...page.jobs]);
+      setNextCursor(page.hasMore ? page.nextCursor : null);
+    } catch (err) {
+      setError('Failed to load jobs: ' + (err instanceof Error ? err.message : 'Unknown error'));
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSearch = async (query: string) => {
+    if (!query.trim()) {
+      loadJobs();
+      return;
+    }
     try {
       setLoading(true);
-      const jobsData = await jobService.getAllJobs(query);
+      const jobsData = await jobService.searchJobs(query);
       setJobs(jobsData);
+      setNextCursor(null);
       setError(null);
     } catch (err) {
       setError('Search failed: ' + (err instanceof Error ? err.message : 'Unknown error'));
@@ -259,10 +281,22 @@ function App() {
         {!loading && !error && (
           <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
             {jobs.map((job) => (
-              <JobCard key={job.id} job={job} onFavoriteChange={handleFavoriteChange} />
+              // Cards keep their own favorite state, so toggling doesn't reload (and lose) loaded pages
+              <JobCard key={job.id} job={job} />
             ))}
           </div>
         )}
+        {!loading && !error && nextCursor !== null && (
+          <div className="text-center mt-8">
+            <button
+              onClick={loadMoreJobs}
+              disabled={loadingMore}
+              className="bg-white border border-gray-300 text-gray-700 px-6 py-2 rounded-lg hover:bg-gray-50 disabled:text-gray-400 transition-colors text-sm font-medium"
+            >
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
         {!loading && !error && jobs.length === 0 && (
           <div className="text-center py-12">
             <h3 className="text-lg font-medium text-gray-900 mb-2">No jobs found</h3>
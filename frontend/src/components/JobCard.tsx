@@ -89,10 +89,10 @@ const JobCard: React.FC<JobCardProps> = ({ job, onFavoriteChange }) => {
         </div>
 
         {/* 2. Let description area occupy remaining space (flex-grow) */}
-        {job.description && (
+        {(job.description || job.snippet) && (
             <div className="mb-3 flex-grow">
               <p className="text-gray-600 text-sm leading-relaxed line-clamp-3">
-                {job.description}
+                {job.description || job.snippet}
               </p>
             </div>
         )}
@@ -21,11 +21,34 @@ export const askAgentChat = async (query: string, resumeText: string) => {
 };
 
 
+export interface JobPageResult {
+  jobs: Job[];
+  nextCursor: number | null; // Pass back to getJobsPage for the following page
+  hasMore: boolean;
+}
+
 class JobService {
-  async getAllJobs(query: string = '', url: string = ''): Promise<Job[]> {
-    const params = new URLSearchParams();
-    if (query) params.append('query', query);
-    if (url) params.append('url', url);
+  // One page of the catalog (GET /api/jobs/page), never the whole table
+  async getJobsPage(cursor: number | null = null, size: number = 20): Promise<JobPageResult> {
+    const params = new URLSearchParams({ size: String(size) });
+    if (cursor !== null) params.append('cursor', String(cursor));
+
+    const response = await fetch(`${API_BASE_URL}/jobs/page?${params.toString()}`);
+    if (!response.ok) {
+      throw new Error('Failed to load jobs');
+    }
+
+    const page = await response.json();
+    return {
+      jobs: await this.withFavoriteFlags(page.items),
+      nextCursor: page.nextCursor ?? null,
+      hasMore: page.hasMore,
+    };
+  }
+
+  // Hybrid search, the result list is bounded by the backend (fusion top-k)
+  async searchJobs(query: string): Promise<Job[]> {
+    const params = new URLSearchParams({ query });
 
     const response = await fetch(`${API_BASE_URL}/jobs?${params.toString()}`);
     if (!response.ok) {
@@ -33,24 +56,32 @@ class JobService {
     }
 
     const jobs: Job[] = await response.json();
-    
-    // If user is logged in, get favorite status
-    if (authService.isAuthenticated()) {
-      try {
-        const favorites = await this.getUserFavorites();
-        const favoriteJobIds = new Set(favorites.map(job => job.id));
-        
-        return jobs.map(job => ({
-          ...job,
-          isFavorite: favoriteJobIds.has(job.id)
-        }));
-      } catch (error) {
-        console.error('Failed to get favorite status:', error);
-        return jobs;
+    return this.withFavoriteFlags(jobs);
+  }
+
+  // If user is logged in, get favorite status of just these jobs in one call
+  private async withFavoriteFlags(jobs: Job[]): Promise<Job[]> {
+    if (!authService.isAuthenticated() || jobs.length === 0) {
+      return jobs;
+    }
+    try {
+      const response = await fetch(`${API_BASE_URL}/jobs/favorites/lookup`, {
+        method: 'POST',
+        headers: {
+          ...authService.getAuthHeaders(),
+          'Content-Type': 'application/json',
+        },
+        body: JSON.stringify(jobs.map(job => job.id)),
+      });
+      if (!response.ok) {
+        throw new Error('Failed to load favorite status');
       }
+      const flags: Record<number, boolean> = await response.json();
+      return jobs.map(job => ({ ...job, isFavorite: flags[job.id] === true }));
+    } catch (error) {
+      console.error('Failed to get favorite status:', error);
+      return jobs;
     }
-
-    return jobs;
   }
 
   async getUserFavorites(): Promise<Job[]> {
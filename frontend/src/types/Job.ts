@@ -6,6 +6,7 @@ export interface Job {
   source: string;       
   url?: string;         
   description?: string; 
+  snippet?: string;     // First 200 chars of the description (list/search results)
   isFavorite?: boolean; // Whether favorited by current user
   matchScore?: number;  // Match score (only for resume recommendation results)
   aiReason?: string | null;